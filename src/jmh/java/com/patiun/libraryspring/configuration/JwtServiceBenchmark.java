@@ -0,0 +1,88 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String KEY = "57AED715FF2956199F956BA682A44CB7CBBF54F98BAE7E07D75F7B0C976EAFE8";
+
+    private static final int VERIFIED_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final int DISTINCT_TOKENS = 10 * VERIFIED_CACHE_MAXIMUM_SIZE;
+
+    private JwtService jwtService;
+
+    private JwtParser parser;
+
+    private String token;
+
+    private String[] distinctTokens;
+
+    private int nextDistinctToken;
+
+    @Setup
+    public void generateTokens() {
+        jwtService = new JwtService(KEY, 3_600_000, VERIFIED_CACHE_MAXIMUM_SIZE, new SimpleMeterRegistry());
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(KEY)))
+                .build();
+        token = jwtService.generateToken(new User(1, "reader", "password", "first", "last", false, true, UserRole.READER));
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = jwtService.generateToken(new User(i + 1, "reader" + i, "password", "first", "last", false, true, UserRole.READER));
+        }
+    }
+
+    @Benchmark
+    public boolean parsePerClaimWithFreshParser() {
+        String username = parseWithFreshParser(token).getSubject();
+        String validatedUsername = parseWithFreshParser(token).getSubject();
+        Date expiration = parseWithFreshParser(token).getExpiration();
+        return username.equals(validatedUsername) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Claims parseOnceWithReusedParser() {
+        return parser.parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public JwtClaims parseOnceWithCachedVerification() {
+        return jwtService.extractTokenClaims(token);
+    }
+
+    @Benchmark
+    public JwtClaims parseOnceWithCachedVerificationOfDistinctTokens() {
+        String distinctToken = distinctTokens[nextDistinctToken];
+        nextDistinctToken = (nextDistinctToken + 1) % DISTINCT_TOKENS;
+        return jwtService.extractTokenClaims(distinctToken);
+    }
+
+    private static Claims parseWithFreshParser(String token) {
+        SecretKey signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(KEY));
+        return Jwts.parser()
+                .verifyWith(signKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
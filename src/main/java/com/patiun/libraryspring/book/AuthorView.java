@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.book;
+
+public record AuthorView(Integer id, String name) {
+}
@@ -1,22 +1,34 @@
 package com.patiun.libraryspring.book;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "book")
+@NamedEntityGraph(name = Book.REFERENCES_GRAPH, attributeNodes = {
+        @NamedAttributeNode("genre"),
+        @NamedAttributeNode("publisher"),
+        @NamedAttributeNode("printingHouse")
+})
+@Table(name = "book", indexes = @Index(name = "book_title_id_idx", columnList = "title, id"))
 public class Book {
 
+    public static final String REFERENCES_GRAPH = "Book.references";
+
+    private static final String ID_SEQUENCE = "book_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Integer id;
 
     @Column(name = "title", length = 128, nullable = false)
     private String title;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 100)
     @JoinTable(
             name = "book_author",
             joinColumns = {@JoinColumn(name = "book_id")},
@@ -24,7 +36,8 @@ public class Book {
     )
     private List<Author> authors;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 100)
     @JoinTable(
             name = "book_editor",
             joinColumns = {@JoinColumn(name = "book_id")},
@@ -74,6 +87,10 @@ public class Book {
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0 not null")
+    private int version;
+
     public Book() {
     }
     
@@ -233,6 +250,14 @@ public class Book {
         isDeleted = deleted;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.book;
+
+public record BookAuthorView(Integer bookId, Integer authorId, String name) {
+
+    public AuthorView toAuthorView() {
+        return new AuthorView(authorId, name);
+    }
+}
@@ -0,0 +1,106 @@
+package com.patiun.libraryspring.book;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+@Component
+public class BookBulkImporter {
+
+    private static final String NULL_BOOK_ERROR = "Book must not be null";
+    private static final String STORAGE_ERROR = "Could not store this book";
+
+    @Value("${book-import.chunk-size:1000}")
+    private int chunkSize;
+
+    private final BookService bookService;
+    private final BookMapper mapper;
+    private final Validator validator;
+
+    @Autowired
+    public BookBulkImporter(BookService bookService, BookMapper mapper, Validator validator) {
+        this.bookService = bookService;
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    public BookImportReport importBooks(Iterator<BookEditDto> editDtos) {
+        List<BookImportResult> results = new ArrayList<>();
+        List<Integer> chunkIndices = new ArrayList<>(chunkSize);
+        List<BookEditDto> chunkEditDtos = new ArrayList<>(chunkSize);
+
+        int index = 0;
+        while (editDtos.hasNext()) {
+            BookEditDto editDto = editDtos.next();
+            List<String> errors = validate(editDto);
+            if (errors.isEmpty()) {
+                chunkIndices.add(index);
+                chunkEditDtos.add(editDto);
+            } else {
+                results.add(BookImportResult.rejected(index, errors));
+            }
+            index++;
+
+            if (chunkEditDtos.size() == chunkSize) {
+                results.addAll(importChunk(chunkIndices, chunkEditDtos));
+                chunkIndices.clear();
+                chunkEditDtos.clear();
+            }
+        }
+        if (!chunkEditDtos.isEmpty()) {
+            results.addAll(importChunk(chunkIndices, chunkEditDtos));
+        }
+
+        results.sort(Comparator.comparingInt(BookImportResult::index));
+        int importedCount = (int) results.stream()
+                .filter(BookImportResult::isImported)
+                .count();
+        return new BookImportReport(importedCount, results.size() - importedCount, results);
+    }
+
+    private List<String> validate(BookEditDto editDto) {
+        if (editDto == null) {
+            return List.of(NULL_BOOK_ERROR);
+        }
+        return validator.validate(editDto)
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private List<BookImportResult> importChunk(List<Integer> indices, List<BookEditDto> editDtos) {
+        List<Book> books = editDtos.stream()
+                .map(mapper::toBook)
+                .toList();
+        List<BookImportResult> results = new ArrayList<>(indices.size());
+        try {
+            List<Integer> bookIds = bookService.importBooks(books);
+            for (int i = 0; i < indices.size(); i++) {
+                results.add(BookImportResult.imported(indices.get(i), bookIds.get(i)));
+            }
+        } catch (DataAccessException e) {
+            for (int i = 0; i < indices.size(); i++) {
+                results.add(importOne(indices.get(i), editDtos.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private BookImportResult importOne(int index, BookEditDto editDto) {
+        try {
+            List<Integer> bookIds = bookService.importBooks(List.of(mapper.toBook(editDto)));
+            return BookImportResult.imported(index, bookIds.get(0));
+        } catch (DataAccessException e) {
+            return BookImportResult.rejected(index, List.of(STORAGE_ERROR));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.patiun.libraryspring.book;
+
+import com.patiun.libraryspring.exception.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+public class BookCatalogCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final BookCatalogSort sort;
+
+    private final Integer lastId;
+
+    private final String lastTitle;
+
+    public BookCatalogCursor(BookCatalogSort sort, Integer lastId, String lastTitle) {
+        this.sort = sort;
+        this.lastId = lastId;
+        this.lastTitle = lastTitle;
+    }
+
+    public static BookCatalogCursor after(BookCatalogSort sort, BookListView lastBook) {
+        return new BookCatalogCursor(sort, lastBook.id(), lastBook.title());
+    }
+
+    public static BookCatalogCursor decode(String token) throws ServiceException {
+        try {
+            String decodedToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decodedToken.split(SEPARATOR, 3);
+            BookCatalogSort sort = BookCatalogSort.valueOf(parts[0]);
+            Integer lastId = Integer.valueOf(parts[1]);
+            String lastTitle = parts.length > 2 ? parts[2] : null;
+            if (sort == BookCatalogSort.TITLE && lastTitle == null) {
+                throw new IllegalArgumentException("Title cursor without a title");
+            }
+            return new BookCatalogCursor(sort, lastId, lastTitle);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ServiceException("Invalid catalog cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String rawToken = sort.name() + SEPARATOR + lastId;
+        if (sort == BookCatalogSort.TITLE) {
+            rawToken += SEPARATOR + lastTitle;
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(rawToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BookCatalogSort getSort() {
+        return sort;
+    }
+
+    public Integer getLastId() {
+        return lastId;
+    }
+
+    public String getLastTitle() {
+        return lastTitle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookCatalogCursor that = (BookCatalogCursor) o;
+        return sort == that.sort && Objects.equals(lastId, that.lastId) && Objects.equals(lastTitle, that.lastTitle);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(sort);
+        result = 31 * result + Objects.hashCode(lastId);
+        result = 31 * result + Objects.hashCode(lastTitle);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookCatalogCursor{" +
+                "sort=" + sort +
+                ", lastId=" + lastId +
+                ", lastTitle='" + lastTitle + '\'' +
+                '}';
+    }
+}
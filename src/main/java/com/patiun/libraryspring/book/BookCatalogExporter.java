@@ -0,0 +1,121 @@
+package com.patiun.libraryspring.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class BookCatalogExporter {
+
+    private static final String CSV_SEPARATOR = ",";
+    private static final String CSV_LIST_SEPARATOR = "; ";
+    private static final String CSV_HEADER = String.join(CSV_SEPARATOR, "id", "title", "authors", "editors", "genre", "publisher", "publisher_postal_code", "publisher_address", "printing_house", "printing_house_postal_code", "printing_house_address", "publication_year", "publication_location", "description", "pages_number", "isbn", "udc", "bbc", "author_index", "amount");
+
+    @Value("${book-export.chunk-size:500}")
+    private int chunkSize;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookCatalogExporter(BookRepository bookRepository, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(BookExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookExportFormat.CSV) {
+            writeLine(writer, CSV_HEADER);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<BookDetailView> books = bookRepository.streamAllDetailViews()) {
+                    List<BookDetailView> chunk = new ArrayList<>(chunkSize);
+                    Iterator<BookDetailView> bookIterator = books.iterator();
+                    while (bookIterator.hasNext()) {
+                        chunk.add(bookIterator.next());
+                        if (chunk.size() == chunkSize) {
+                            writeChunk(format, writer, chunk);
+                            chunk.clear();
+                        }
+                    }
+                    writeChunk(format, writer, chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(BookExportFormat format, Writer writer, List<BookDetailView> books) throws IOException {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Integer> bookIds = books.stream()
+                .map(BookDetailView::id)
+                .toList();
+        Map<Integer, List<AuthorView>> authorsByBookId = bookRepository.findAuthorViewsByBookIdIn(bookIds)
+                .stream()
+                .collect(Collectors.groupingBy(BookAuthorView::bookId, Collectors.mapping(BookAuthorView::toAuthorView, Collectors.toList())));
+        Map<Integer, List<EditorView>> editorsByBookId = bookRepository.findEditorViewsByBookIdIn(bookIds)
+                .stream()
+                .collect(Collectors.groupingBy(BookEditorView::bookId, Collectors.mapping(BookEditorView::toEditorView, Collectors.toList())));
+
+        for (BookDetailView book : books) {
+            BookDetailView exportedBook = book.withContributors(authorsByBookId.getOrDefault(book.id(), List.of()), editorsByBookId.getOrDefault(book.id(), List.of()));
+            switch (format) {
+                case NDJSON -> writeLine(writer, objectMapper.writeValueAsString(exportedBook));
+                case CSV -> writeLine(writer, toCsvLine(exportedBook));
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    private String toCsvLine(BookDetailView book) {
+        String authors = book.authors()
+                .stream()
+                .map(AuthorView::name)
+                .collect(Collectors.joining(CSV_LIST_SEPARATOR));
+        String editors = book.editors()
+                .stream()
+                .map(editor -> editor.name() + " (" + editor.role() + ")")
+                .collect(Collectors.joining(CSV_LIST_SEPARATOR));
+        BookDetailView.PublisherView publisher = book.publisher();
+        BookDetailView.PrintingHouseView printingHouse = book.printingHouse();
+        return Stream.of(book.id(), book.title(), authors, editors, book.genre().name(), publisher.name(), publisher.postalCode(), publisher.address(), printingHouse.name(), printingHouse.postalCode(), printingHouse.address(), book.publicationYear(), book.publicationLocation(), book.description(), book.pagesNumber(), book.isbn(), book.udc(), book.bbc(), book.authorIndex(), book.amount())
+                .map(this::toCsvField)
+                .collect(Collectors.joining(CSV_SEPARATOR));
+    }
+
+    private String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value.toString();
+        if (field.contains(CSV_SEPARATOR) || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+}
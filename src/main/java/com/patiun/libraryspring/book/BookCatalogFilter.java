@@ -0,0 +1,101 @@
+package com.patiun.libraryspring.book;
+
+import java.util.Objects;
+
+public class BookCatalogFilter {
+
+    private String genre;
+
+    private String publisher;
+
+    private Integer minPublicationYear;
+
+    private Integer maxPublicationYear;
+
+    private boolean inStock;
+
+    public BookCatalogFilter() {
+    }
+
+    public BookCatalogFilter(String genre, String publisher, Integer minPublicationYear, Integer maxPublicationYear, boolean inStock) {
+        this.genre = genre;
+        this.publisher = publisher;
+        this.minPublicationYear = minPublicationYear;
+        this.maxPublicationYear = maxPublicationYear;
+        this.inStock = inStock;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public void setPublisher(String publisher) {
+        this.publisher = publisher;
+    }
+
+    public Integer getMinPublicationYear() {
+        return minPublicationYear;
+    }
+
+    public void setMinPublicationYear(Integer minPublicationYear) {
+        this.minPublicationYear = minPublicationYear;
+    }
+
+    public Integer getMaxPublicationYear() {
+        return maxPublicationYear;
+    }
+
+    public void setMaxPublicationYear(Integer maxPublicationYear) {
+        this.maxPublicationYear = maxPublicationYear;
+    }
+
+    public boolean getInStock() {
+        return inStock;
+    }
+
+    public void setInStock(boolean inStock) {
+        this.inStock = inStock;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookCatalogFilter that = (BookCatalogFilter) o;
+        return inStock == that.inStock && Objects.equals(genre, that.genre) && Objects.equals(publisher, that.publisher) && Objects.equals(minPublicationYear, that.minPublicationYear) && Objects.equals(maxPublicationYear, that.maxPublicationYear);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(genre);
+        result = 31 * result + Objects.hashCode(publisher);
+        result = 31 * result + Objects.hashCode(minPublicationYear);
+        result = 31 * result + Objects.hashCode(maxPublicationYear);
+        result = 31 * result + Boolean.hashCode(inStock);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookCatalogFilter{" +
+                "genre='" + genre + '\'' +
+                ", publisher='" + publisher + '\'' +
+                ", minPublicationYear=" + minPublicationYear +
+                ", maxPublicationYear=" + maxPublicationYear +
+                ", inStock=" + inStock +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BookCatalogPage {
+
+    private List<BookListView> books;
+
+    private String nextCursor;
+
+    public BookCatalogPage() {
+    }
+
+    public BookCatalogPage(List<BookListView> books, String nextCursor) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookListView> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<BookListView> books) {
+        this.books = books;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookCatalogPage that = (BookCatalogPage) o;
+        return Objects.equals(books, that.books) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(books);
+        result = 31 * result + Objects.hashCode(nextCursor);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookCatalogPage{" +
+                "books=" + books +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.book;
+
+public enum BookCatalogSort {
+
+    ID,
+    TITLE
+
+}
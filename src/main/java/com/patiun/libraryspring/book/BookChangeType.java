@@ -0,0 +1,10 @@
+package com.patiun.libraryspring.book;
+
+public enum BookChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED,
+    STOCK_CHANGED
+
+}
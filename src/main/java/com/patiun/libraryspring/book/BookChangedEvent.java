@@ -0,0 +1,51 @@
+package com.patiun.libraryspring.book;
+
+import java.util.Objects;
+
+public class BookChangedEvent {
+
+    private final Integer bookId;
+
+    private final BookChangeType changeType;
+
+    public BookChangedEvent(Integer bookId, BookChangeType changeType) {
+        this.bookId = bookId;
+        this.changeType = changeType;
+    }
+
+    public Integer getBookId() {
+        return bookId;
+    }
+
+    public BookChangeType getChangeType() {
+        return changeType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookChangedEvent that = (BookChangedEvent) o;
+        return Objects.equals(bookId, that.bookId) && changeType == that.changeType;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(bookId);
+        result = 31 * result + Objects.hashCode(changeType);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookChangedEvent{" +
+                "bookId=" + bookId +
+                ", changeType=" + changeType +
+                '}';
+    }
+}
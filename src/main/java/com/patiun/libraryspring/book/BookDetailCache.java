@@ -0,0 +1,47 @@
+package com.patiun.libraryspring.book;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class BookDetailCache {
+
+    private static final String CACHE_NAME = "bookDetails";
+
+    private final Cache<Integer, BookDetailView> cache;
+
+    @Autowired
+    public BookDetailCache(@Value("${book-cache.maximum-size:10000}") long maximumSize, @Value("${book-cache.expire-after-write:PT10M}") Duration expireAfterWrite, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<BookDetailView> get(Integer id, Function<Integer, Optional<BookDetailView>> loader) {
+        BookDetailView book = cache.get(id, bookId -> loader.apply(bookId)
+                .orElse(null));
+        return Optional.ofNullable(book);
+    }
+
+    public void invalidate(Integer id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(event.getBookId());
+    }
+}
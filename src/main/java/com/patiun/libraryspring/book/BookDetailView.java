@@ -0,0 +1,23 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+
+public record BookDetailView(Integer id, String title, List<AuthorView> authors, List<EditorView> editors, GenreView genre, PublisherView publisher, PrintingHouseView printingHouse, int publicationYear, String publicationLocation, String description, int pagesNumber, String isbn, String udc, String bbc, String authorIndex, int amount, int version) {
+
+    public BookDetailView(Integer id, String title, Integer genreId, String genreName, Integer publisherId, String publisherName, String publisherPostalCode, String publisherAddress, Integer printingHouseId, String printingHouseName, String printingHousePostalCode, String printingHouseAddress, int publicationYear, String publicationLocation, String description, int pagesNumber, String isbn, String udc, String bbc, String authorIndex, int amount, int version) {
+        this(id, title, List.of(), List.of(), new GenreView(genreId, genreName), new PublisherView(publisherId, publisherName, publisherPostalCode, publisherAddress), new PrintingHouseView(printingHouseId, printingHouseName, printingHousePostalCode, printingHouseAddress), publicationYear, publicationLocation, description, pagesNumber, isbn, udc, bbc, authorIndex, amount, version);
+    }
+
+    public BookDetailView withContributors(List<AuthorView> authors, List<EditorView> editors) {
+        return new BookDetailView(id, title, List.copyOf(authors), List.copyOf(editors), genre, publisher, printingHouse, publicationYear, publicationLocation, description, pagesNumber, isbn, udc, bbc, authorIndex, amount, version);
+    }
+
+    public record GenreView(Integer id, String name) {
+    }
+
+    public record PublisherView(Integer id, String name, String postalCode, String address) {
+    }
+
+    public record PrintingHouseView(Integer id, String name, String postalCode, String address) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.book;
+
+public record BookEditorView(Integer bookId, Integer editorId, String role, String name) {
+
+    public EditorView toEditorView() {
+        return new EditorView(editorId, role, name);
+    }
+}
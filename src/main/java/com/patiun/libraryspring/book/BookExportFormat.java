@@ -0,0 +1,37 @@
+package com.patiun.libraryspring.book;
+
+import com.patiun.libraryspring.exception.ServiceException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum BookExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    BookExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static BookExportFormat of(String name) throws ServiceException {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Unsupported export format: " + name);
+        }
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+
+public record BookImportReport(int importedCount, int rejectedCount, List<BookImportResult> results) {
+}
@@ -0,0 +1,18 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+
+public record BookImportResult(int index, Integer bookId, List<String> errors) {
+
+    public static BookImportResult imported(int index, Integer bookId) {
+        return new BookImportResult(index, bookId, List.of());
+    }
+
+    public static BookImportResult rejected(int index, List<String> errors) {
+        return new BookImportResult(index, null, errors);
+    }
+
+    public boolean isImported() {
+        return bookId != null;
+    }
+}
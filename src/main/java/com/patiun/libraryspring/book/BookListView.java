@@ -0,0 +1,14 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+
+public record BookListView(Integer id, String title, List<String> authors, String genre, int publicationYear, int amount) {
+
+    public BookListView(Integer id, String title, String genre, int publicationYear, int amount) {
+        this(id, title, List.of(), genre, publicationYear, amount);
+    }
+
+    public BookListView withAuthors(List<String> authors) {
+        return new BookListView(id, title, List.copyOf(authors), genre, publicationYear, amount);
+    }
+}
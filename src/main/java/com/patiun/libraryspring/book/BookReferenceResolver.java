@@ -0,0 +1,242 @@
+package com.patiun.libraryspring.book;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class BookReferenceResolver {
+
+    private static final String SEQUENCE_SUFFIX = "_seq";
+
+    private final ReferenceType<String, Author> authors;
+    private final ReferenceType<EditorKey, Editor> editors;
+    private final ReferenceType<String, Genre> genres;
+    private final ReferenceType<AddressedKey, Publisher> publishers;
+    private final ReferenceType<AddressedKey, PrintingHouse> printingHouses;
+
+    private final ReferenceUpserter referenceUpserter;
+    private final EntityManager entityManager;
+    private final int cacheMaximumSize;
+
+    @Autowired
+    public BookReferenceResolver(AuthorRepository authorRepository, EditorRepository editorRepository, GenreRepository genreRepository, PublisherRepository publisherRepository, PrintingHouseRepository printingHouseRepository, ReferenceUpserter referenceUpserter, EntityManager entityManager, @Value("${reference-cache.maximum-size:10000}") int cacheMaximumSize) {
+        this.authors = new ReferenceType<>(Author.class, "author", authorRepository, authorRepository::findByNameIn, Author::getName, Author::getName, Author::getId, author -> columnValues("name", author.getName()), cacheMaximumSize);
+        this.editors = new ReferenceType<>(Editor.class, "editor", editorRepository, editorRepository::findByNameIn, EditorKey::of, Editor::getName, Editor::getId, editor -> columnValues("role", editor.getRole(), "name", editor.getName()), cacheMaximumSize);
+        this.genres = new ReferenceType<>(Genre.class, "genre", genreRepository, genreRepository::findByNameIn, Genre::getName, Genre::getName, Genre::getId, genre -> columnValues("name", genre.getName()), cacheMaximumSize);
+        this.publishers = new ReferenceType<>(Publisher.class, "publisher", publisherRepository, publisherRepository::findByNameIn, AddressedKey::of, Publisher::getName, Publisher::getId, publisher -> columnValues("name", publisher.getName(), "postal_code", publisher.getPostalCode(), "address", publisher.getAddress()), cacheMaximumSize);
+        this.printingHouses = new ReferenceType<>(PrintingHouse.class, "printing_house", printingHouseRepository, printingHouseRepository::findByNameIn, AddressedKey::of, PrintingHouse::getName, PrintingHouse::getId, printingHouse -> columnValues("name", printingHouse.getName(), "postal_code", printingHouse.getPostalCode(), "address", printingHouse.getAddress()), cacheMaximumSize);
+        this.referenceUpserter = referenceUpserter;
+        this.entityManager = entityManager;
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        PageRequest firstPage = PageRequest.of(0, cacheMaximumSize);
+        Stream.of(authors, editors, genres, publishers, printingHouses)
+                .forEach(referenceType -> referenceType.warmUp(firstPage));
+    }
+
+    public void resolve(Collection<Book> books) {
+        Map<String, Author> resolvedAuthors = resolveReferences(authors, books.stream().flatMap(book -> book.getAuthors().stream()));
+        Map<EditorKey, Editor> resolvedEditors = resolveReferences(editors, books.stream().flatMap(book -> book.getEditors().stream()));
+        Map<String, Genre> resolvedGenres = resolveReferences(genres, books.stream().map(Book::getGenre));
+        Map<AddressedKey, Publisher> resolvedPublishers = resolveReferences(publishers, books.stream().map(Book::getPublisher));
+        Map<AddressedKey, PrintingHouse> resolvedPrintingHouses = resolveReferences(printingHouses, books.stream().map(Book::getPrintingHouse));
+
+        for (Book book : books) {
+            List<Author> bookAuthors = book.getAuthors()
+                    .stream()
+                    .map(author -> resolvedAuthors.get(author.getName()))
+                    .distinct()
+                    .toList();
+            book.setAuthors(bookAuthors);
+
+            List<Editor> bookEditors = book.getEditors()
+                    .stream()
+                    .map(editor -> resolvedEditors.get(EditorKey.of(editor)))
+                    .distinct()
+                    .toList();
+            book.setEditors(bookEditors);
+
+            book.setGenre(resolvedGenres.get(book.getGenre().getName()));
+            book.setPublisher(resolvedPublishers.get(AddressedKey.of(book.getPublisher())));
+            book.setPrintingHouse(resolvedPrintingHouses.get(AddressedKey.of(book.getPrintingHouse())));
+        }
+    }
+
+    private <K, E> Map<K, E> resolveReferences(ReferenceType<K, E> referenceType, Stream<E> requestedReferences) {
+        Map<K, E> resolvedReferences = new HashMap<>();
+        Map<K, E> missingReferences = new LinkedHashMap<>();
+        requestedReferences.forEach(reference -> {
+            K key = referenceType.keyOf(reference);
+            if (resolvedReferences.containsKey(key) || missingReferences.containsKey(key)) {
+                return;
+            }
+            Integer cachedId = referenceType.idCache.getIfPresent(key);
+            if (cachedId != null) {
+                resolvedReferences.put(key, entityManager.getReference(referenceType.entityClass, cachedId));
+            } else {
+                missingReferences.put(key, reference);
+            }
+        });
+        if (missingReferences.isEmpty()) {
+            return resolvedReferences;
+        }
+
+        Map<K, Integer> foundIds = new HashMap<>();
+        Set<String> missingNames = missingReferences.values()
+                .stream()
+                .map(referenceType.nameExtractor)
+                .collect(Collectors.toSet());
+        for (E existingReference : referenceType.finderByNames.apply(missingNames)) {
+            K key = referenceType.keyOf(existingReference);
+            foundIds.put(key, referenceType.idOf(existingReference));
+            if (missingReferences.remove(key) != null) {
+                resolvedReferences.put(key, existingReference);
+            }
+        }
+
+        if (!missingReferences.isEmpty()) {
+            resolvedReferences.putAll(insertAllIfAbsentAndFind(referenceType, missingReferences, foundIds));
+        }
+        cacheIdsOnCommit(referenceType, foundIds);
+        return resolvedReferences;
+    }
+
+    private <K, E> Map<K, E> insertAllIfAbsentAndFind(ReferenceType<K, E> referenceType, Map<K, E> missingReferences, Map<K, Integer> foundIds) {
+        List<Map<String, Object>> rows = missingReferences.values()
+                .stream()
+                .map(referenceType::columnValuesOf)
+                .toList();
+        referenceUpserter.insertAllIfAbsent(referenceType.table, referenceType.sequence(), rows);
+
+        Set<String> missingNames = missingReferences.values()
+                .stream()
+                .map(referenceType.nameExtractor)
+                .collect(Collectors.toSet());
+        Map<K, Integer> insertedIds = new HashMap<>();
+        for (E existingReference : referenceType.finderByNames.apply(missingNames)) {
+            K key = referenceType.keyOf(existingReference);
+            if (missingReferences.containsKey(key)) {
+                insertedIds.put(key, referenceType.idOf(existingReference));
+            }
+        }
+
+        Map<K, E> insertedReferences = new HashMap<>();
+        for (K key : missingReferences.keySet()) {
+            Integer id = insertedIds.get(key);
+            if (id == null) {
+                throw new IllegalStateException("Could not find the " + referenceType.table + " reference " + key + " after inserting it");
+            }
+            foundIds.put(key, id);
+            insertedReferences.put(key, entityManager.getReference(referenceType.entityClass, id));
+        }
+        return insertedReferences;
+    }
+
+    private static <K> void cacheIdsOnCommit(ReferenceType<K, ?> referenceType, Map<K, Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            referenceType.idCache.putAll(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                referenceType.idCache.putAll(ids);
+            }
+        });
+    }
+
+    private static Map<String, Object> columnValues(Object... columnsAndValues) {
+        Map<String, Object> columnValues = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            columnValues.put((String) columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return columnValues;
+    }
+
+    private static class ReferenceType<K, E> {
+
+        private final Class<E> entityClass;
+        private final String table;
+        private final JpaRepository<E, Integer> repository;
+        private final Function<Collection<String>, List<E>> finderByNames;
+        private final Function<E, K> keyExtractor;
+        private final Function<E, String> nameExtractor;
+        private final Function<E, Integer> idExtractor;
+        private final Function<E, Map<String, Object>> columnValuesExtractor;
+        private final Cache<K, Integer> idCache;
+
+        private ReferenceType(Class<E> entityClass, String table, JpaRepository<E, Integer> repository, Function<Collection<String>, List<E>> finderByNames, Function<E, K> keyExtractor, Function<E, String> nameExtractor, Function<E, Integer> idExtractor, Function<E, Map<String, Object>> columnValuesExtractor, int cacheMaximumSize) {
+            this.entityClass = entityClass;
+            this.table = table;
+            this.repository = repository;
+            this.finderByNames = finderByNames;
+            this.keyExtractor = keyExtractor;
+            this.nameExtractor = nameExtractor;
+            this.idExtractor = idExtractor;
+            this.columnValuesExtractor = columnValuesExtractor;
+            this.idCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaximumSize)
+                    .build();
+        }
+
+        private K keyOf(E reference) {
+            return keyExtractor.apply(reference);
+        }
+
+        private Integer idOf(E reference) {
+            return idExtractor.apply(reference);
+        }
+
+        private Map<String, Object> columnValuesOf(E reference) {
+            return columnValuesExtractor.apply(reference);
+        }
+
+        private String sequence() {
+            return table + SEQUENCE_SUFFIX;
+        }
+
+        private void warmUp(PageRequest page) {
+            repository.findAll(page)
+                    .forEach(reference -> idCache.put(keyOf(reference), idOf(reference)));
+        }
+    }
+
+    private record EditorKey(String role, String name) {
+
+        private static EditorKey of(Editor editor) {
+            return new EditorKey(editor.getRole(), editor.getName());
+        }
+    }
+
+    private record AddressedKey(String name, String postalCode, String address) {
+
+        private static AddressedKey of(Publisher publisher) {
+            return new AddressedKey(publisher.getName(), publisher.getPostalCode(), publisher.getAddress());
+        }
+
+        private static AddressedKey of(PrintingHouse printingHouse) {
+            return new AddressedKey(printingHouse.getName(), printingHouse.getPostalCode(), printingHouse.getAddress());
+        }
+    }
+}
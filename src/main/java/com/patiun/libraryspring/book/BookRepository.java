@@ -1,10 +1,79 @@
 package com.patiun.libraryspring.book;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookRepository extends CrudRepository<Book, Integer> {
+public interface BookRepository extends CrudRepository<Book, Integer>, BookRepositoryCustom {
 
+    String DETAIL_VIEW_QUERY = "select new com.patiun.libraryspring.book.BookDetailView(b.id, b.title, g.id, g.name, p.id, p.name, p.postalCode, p.address, ph.id, ph.name, ph.postalCode, ph.address, b.publicationYear, b.publicationLocation, b.description, b.pagesNumber, b.isbn, b.udc, b.bbc, b.authorIndex, b.amount, b.version) from Book b join b.genre g join b.publisher p join b.printingHouse ph";
+
+    @Override
+    @EntityGraph(Book.REFERENCES_GRAPH)
+    Optional<Book> findById(Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findForUpdateById(Integer id);
+
+    @EntityGraph(Book.REFERENCES_GRAPH)
     List<Book> findAllByIsDeletedFalse();
+
+    @Query("select new com.patiun.libraryspring.book.BookListView(b.id, b.title, g.name, b.publicationYear, b.amount) from Book b join b.genre g where b.isDeleted = false order by b.id")
+    List<BookListView> findAllListViews();
+
+    @Query("select new com.patiun.libraryspring.book.BookListView(b.id, b.title, g.name, b.publicationYear, b.amount) from Book b join b.genre g where b.isDeleted = false and b.id in :ids")
+    List<BookListView> findListViewsByIdIn(Collection<Integer> ids);
+
+    @Query(DETAIL_VIEW_QUERY + " where b.id = :id and b.isDeleted = false")
+    Optional<BookDetailView> findDetailViewById(Integer id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DETAIL_VIEW_QUERY + " where b.isDeleted = false order by b.id")
+    Stream<BookDetailView> streamAllDetailViews();
+
+    @Query("select b.version from Book b where b.id = :id and b.isDeleted = false")
+    Optional<Integer> findVersionById(Integer id);
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount - 1, b.version = b.version + 1 where b.id = :id and b.amount > 0")
+    int decrementAmountById(Integer id);
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount + 1, b.version = b.version + 1 where b.id = :id")
+    int incrementAmountById(Integer id);
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount - :copies, b.version = b.version + 1 where b.id = :id and b.amount >= :copies")
+    int decreaseAmountById(Integer id, int copies);
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount + :copies, b.version = b.version + 1 where b.id = :id")
+    int increaseAmountById(Integer id, int copies);
+
+    @Query("select b.amount from Book b where b.id = :id")
+    Optional<Integer> findAmountById(Integer id);
+
+    @Query("select new com.patiun.libraryspring.book.AuthorView(a.id, a.name) from Book b join b.authors a where b.id = :bookId")
+    List<AuthorView> findAuthorViewsByBookId(Integer bookId);
+
+    @Query("select new com.patiun.libraryspring.book.EditorView(e.id, e.role, e.name) from Book b join b.editors e where b.id = :bookId")
+    List<EditorView> findEditorViewsByBookId(Integer bookId);
+
+    @Query("select new com.patiun.libraryspring.book.BookAuthorView(b.id, a.id, a.name) from Book b join b.authors a where b.id in :bookIds")
+    List<BookAuthorView> findAuthorViewsByBookIdIn(Collection<Integer> bookIds);
+
+    @Query("select new com.patiun.libraryspring.book.BookEditorView(b.id, e.id, e.role, e.name) from Book b join b.editors e where b.id in :bookIds")
+    List<BookEditorView> findEditorViewsByBookIdIn(Collection<Integer> bookIds);
 }
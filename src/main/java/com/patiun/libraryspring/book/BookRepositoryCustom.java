@@ -0,0 +1,10 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    List<BookListView> findCatalogPage(BookCatalogFilter filter, BookCatalogSort sort, BookCatalogCursor after, int limit);
+
+    void insertAll(List<Book> books);
+}
@@ -0,0 +1,91 @@
+package com.patiun.libraryspring.book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Book> books) {
+        books.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public List<BookListView> findCatalogPage(BookCatalogFilter filter, BookCatalogSort sort, BookCatalogCursor after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookListView> query = builder.createQuery(BookListView.class);
+        Root<Book> book = query.from(Book.class);
+        Join<Book, Genre> genre = book.join("genre");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.isFalse(book.<Boolean>get("isDeleted")));
+        predicates.addAll(toFilterPredicates(builder, book, genre, filter));
+
+        Path<Integer> id = book.get("id");
+        Path<String> title = book.get("title");
+        if (sort == BookCatalogSort.TITLE) {
+            if (after != null) {
+                String lastTitle = after.getLastTitle();
+                predicates.add(builder.or(
+                        builder.greaterThan(title, lastTitle),
+                        builder.and(builder.equal(title, lastTitle), builder.greaterThan(id, after.getLastId()))
+                ));
+            }
+            query.orderBy(builder.asc(title), builder.asc(id));
+        } else {
+            if (after != null) {
+                predicates.add(builder.greaterThan(id, after.getLastId()));
+            }
+            query.orderBy(builder.asc(id));
+        }
+
+        query.select(builder.construct(BookListView.class, id, title, genre.get("name"), book.get("publicationYear"), book.get("amount")))
+                .where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Predicate> toFilterPredicates(CriteriaBuilder builder, Root<Book> book, Join<Book, Genre> genre, BookCatalogFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+
+        String genreName = filter.getGenre();
+        if (genreName != null && !genreName.isBlank()) {
+            predicates.add(builder.equal(genre.get("name"), genreName));
+        }
+        String publisher = filter.getPublisher();
+        if (publisher != null && !publisher.isBlank()) {
+            predicates.add(builder.equal(book.get("publisher").get("name"), publisher));
+        }
+        Integer minPublicationYear = filter.getMinPublicationYear();
+        if (minPublicationYear != null) {
+            predicates.add(builder.greaterThanOrEqualTo(book.<Integer>get("publicationYear"), minPublicationYear));
+        }
+        Integer maxPublicationYear = filter.getMaxPublicationYear();
+        if (maxPublicationYear != null) {
+            predicates.add(builder.lessThanOrEqualTo(book.<Integer>get("publicationYear"), maxPublicationYear));
+        }
+        if (filter.getInStock()) {
+            predicates.add(builder.greaterThan(book.<Integer>get("amount"), 0));
+        }
+        return predicates;
+    }
+}
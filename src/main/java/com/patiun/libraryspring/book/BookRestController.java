@@ -1,9 +1,22 @@
 package com.patiun.libraryspring.book;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patiun.libraryspring.configuration.ETags;
+import com.patiun.libraryspring.exception.ServiceException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -12,11 +25,17 @@ public class BookRestController {
 
     private final BookService bookService;
     private final BookMapper mapper;
+    private final BookBulkImporter bulkImporter;
+    private final BookCatalogExporter catalogExporter;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookRestController(BookService bookService, BookMapper mapper) {
+    public BookRestController(BookService bookService, BookMapper mapper, BookBulkImporter bulkImporter, BookCatalogExporter catalogExporter, ObjectMapper objectMapper) {
         this.bookService = bookService;
         this.mapper = mapper;
+        this.bulkImporter = bulkImporter;
+        this.catalogExporter = catalogExporter;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -26,14 +45,64 @@ public class BookRestController {
         bookService.createBook(inputBook);
     }
 
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BookImportReport importBooks(@RequestBody List<BookEditDto> editDtos) {
+        return bulkImporter.importBooks(editDtos.iterator());
+    }
+
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BookImportReport importBooks(InputStream body) throws IOException, ServiceException {
+        try (MappingIterator<BookEditDto> editDtos = objectMapper.readerFor(BookEditDto.class).readValues(body)) {
+            return bulkImporter.importBooks(editDtos);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof JsonProcessingException cause) {
+                throw new ServiceException("Malformed book in the import stream: " + cause.getOriginalMessage());
+            }
+            throw e;
+        }
+    }
+
     @GetMapping
-    public List<Book> readAllBooks() {
+    public List<BookListView> readAllBooks() {
         return bookService.getAllBooks();
     }
 
+    @GetMapping("catalog")
+    public BookCatalogPage readBookCatalogPage(BookCatalogFilter filter, @RequestParam(required = false) BookCatalogSort sort, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) throws ServiceException {
+        return bookService.getBookCatalogPage(filter, sort, cursor, size);
+    }
+
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) throws ServiceException {
+        BookExportFormat exportFormat = BookExportFormat.of(format);
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("books." + exportFormat.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(outputStream -> catalogExporter.export(exportFormat, outputStream));
+    }
+
+    @GetMapping("search")
+    public List<BookListView> searchBooks(@RequestParam("q") String query, @RequestParam(required = false) Integer limit) throws ServiceException {
+        return bookService.searchBooks(query, limit);
+    }
+
     @GetMapping("{id}")
-    public Book readBook(@PathVariable Integer id) {
-        return bookService.getBookById(id);
+    public ResponseEntity<BookDetailView> readBook(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String currentETag = ETags.of(id, bookService.getBookVersionById(id));
+            if (ETags.matches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(currentETag)
+                        .build();
+            }
+        }
+        BookDetailView book = bookService.getBookById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(id, book.version()))
+                .body(book);
     }
 
     @PutMapping("{id}")
@@ -0,0 +1,286 @@
+package com.patiun.libraryspring.book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class BookSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CONTRIBUTOR_WEIGHT = 2;
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    private Map<Integer, Map<String, Integer>> changesDuringRebuild;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BookSearchIndex(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuiltIndex = new Index();
+        boolean rebuilt = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<BookDetailView> books = bookRepository.streamAllDetailViews()) {
+                    List<BookDetailView> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+                    Iterator<BookDetailView> bookIterator = books.iterator();
+                    while (bookIterator.hasNext()) {
+                        chunk.add(bookIterator.next());
+                        if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                            indexChunk(rebuiltIndex, chunk);
+                            chunk.clear();
+                        }
+                    }
+                    indexChunk(rebuiltIndex, chunk);
+                }
+            });
+            rebuilt = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                Map<Integer, Map<String, Integer>> changes = changesDuringRebuild;
+                changesDuringRebuild = null;
+                if (rebuilt) {
+                    changes.forEach(rebuiltIndex::put);
+                    index = rebuiltIndex;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Integer bookId = event.getBookId();
+        if (event.getChangeType() == BookChangeType.STOCK_CHANGED) {
+            return;
+        }
+        if (event.getChangeType() == BookChangeType.DELETED) {
+            removeBook(bookId);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> bookRepository.findById(bookId)
+                .filter(book -> !book.isDeleted())
+                .ifPresentOrElse(this::indexBook, () -> removeBook(bookId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.findAllById(event.getBookIds())
+                    .forEach(this::indexBook);
+            entityManager.clear();
+        });
+    }
+
+    public void indexBook(Book book) {
+        List<String> authorNames = book.getAuthors()
+                .stream()
+                .map(Author::getName)
+                .toList();
+        List<String> editorNames = book.getEditors()
+                .stream()
+                .map(Editor::getName)
+                .toList();
+        Map<String, Integer> termFrequencies = termFrequenciesOf(book.getTitle(), authorNames, editorNames, book.getGenre().getName(), book.getPublisher().getName(), book.getDescription());
+        applyChange(book.getId(), termFrequencies);
+    }
+
+    public void removeBook(Integer bookId) {
+        applyChange(bookId, null);
+    }
+
+    public List<Integer> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> documentLengths = index.documentLengths;
+            int documentsNumber = documentLengths.size();
+            if (documentsNumber == 0) {
+                return List.of();
+            }
+            double averageDocumentLength = (double) index.totalDocumentsLength / documentsNumber;
+            for (String term : queryTerms) {
+                Map<Integer, Integer> termPostings = index.postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double inverseDocumentFrequency = Math.log(1 + (documentsNumber - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((bookId, termFrequency) -> {
+                    double lengthNormalization = K1 * (1 - B + B * documentLengths.get(bookId) / averageDocumentLength);
+                    double termScore = inverseDocumentFrequency * termFrequency * (K1 + 1) / (termFrequency + lengthNormalization);
+                    scores.merge(bookId, termScore, Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Map.Entry<Integer, Double>> rankOrder = Map.Entry.<Integer, Double>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Integer, Double>> topResults = new PriorityQueue<>(rankOrder.reversed());
+        for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+            topResults.offer(score);
+            if (topResults.size() > limit) {
+                topResults.poll();
+            }
+        }
+        List<Map.Entry<Integer, Double>> rankedResults = new ArrayList<>(topResults);
+        rankedResults.sort(rankOrder);
+        return rankedResults.stream()
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String decomposedText = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String normalizedText = COMBINING_MARKS.matcher(decomposedText)
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return TOKEN_SEPARATORS.splitAsStream(normalizedText)
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void indexChunk(Index rebuiltIndex, List<BookDetailView> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Integer> bookIds = books.stream()
+                .map(BookDetailView::id)
+                .toList();
+        Map<Integer, List<String>> authorNamesByBookId = bookRepository.findAuthorViewsByBookIdIn(bookIds)
+                .stream()
+                .collect(Collectors.groupingBy(BookAuthorView::bookId, Collectors.mapping(BookAuthorView::name, Collectors.toList())));
+        Map<Integer, List<String>> editorNamesByBookId = bookRepository.findEditorViewsByBookIdIn(bookIds)
+                .stream()
+                .collect(Collectors.groupingBy(BookEditorView::bookId, Collectors.mapping(BookEditorView::name, Collectors.toList())));
+
+        for (BookDetailView book : books) {
+            Map<String, Integer> termFrequencies = termFrequenciesOf(book.title(), authorNamesByBookId.getOrDefault(book.id(), List.of()), editorNamesByBookId.getOrDefault(book.id(), List.of()), book.genre().name(), book.publisher().name(), book.description());
+            rebuiltIndex.put(book.id(), termFrequencies);
+        }
+    }
+
+    private void applyChange(Integer bookId, Map<String, Integer> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            index.put(bookId, termFrequencies);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(bookId, termFrequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Integer> termFrequenciesOf(String title, List<String> authorNames, List<String> editorNames, String genreName, String publisherName, String description) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, title, TITLE_WEIGHT);
+        authorNames.forEach(authorName -> addTerms(termFrequencies, authorName, CONTRIBUTOR_WEIGHT));
+        editorNames.forEach(editorName -> addTerms(termFrequencies, editorName, CONTRIBUTOR_WEIGHT));
+        addTerms(termFrequencies, genreName, DEFAULT_WEIGHT);
+        addTerms(termFrequencies, publisherName, DEFAULT_WEIGHT);
+        addTerms(termFrequencies, description, DEFAULT_WEIGHT);
+        return termFrequencies;
+    }
+
+    private void addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String term : tokenize(text)) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static class Index {
+
+        private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+        private final Map<Integer, Map<String, Integer>> documentTerms = new HashMap<>();
+        private final Map<Integer, Integer> documentLengths = new HashMap<>();
+        private long totalDocumentsLength;
+
+        private void put(Integer bookId, Map<String, Integer> termFrequencies) {
+            remove(bookId);
+            if (termFrequencies == null) {
+                return;
+            }
+            int documentLength = 0;
+            for (Map.Entry<String, Integer> termFrequency : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(termFrequency.getKey(), term -> new HashMap<>())
+                        .put(bookId, termFrequency.getValue());
+                documentLength += termFrequency.getValue();
+            }
+            documentTerms.put(bookId, termFrequencies);
+            documentLengths.put(bookId, documentLength);
+            totalDocumentsLength += documentLength;
+        }
+
+        private void remove(Integer bookId) {
+            Map<String, Integer> removedTerms = documentTerms.remove(bookId);
+            if (removedTerms == null) {
+                return;
+            }
+            for (String term : removedTerms.keySet()) {
+                Map<Integer, Integer> termPostings = postings.get(term);
+                termPostings.remove(bookId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalDocumentsLength -= documentLengths.remove(bookId);
+        }
+    }
+}
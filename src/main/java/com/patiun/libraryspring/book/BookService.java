@@ -1,14 +1,24 @@
 package com.patiun.libraryspring.book;
 
+import com.patiun.libraryspring.exception.ServiceException;
+
 import java.util.List;
 
 public interface BookService {
 
     void createBook(Book inputBook);
 
-    List<Book> getAllBooks();
+    List<Integer> importBooks(List<Book> inputBooks);
+
+    List<BookListView> getAllBooks();
+
+    BookCatalogPage getBookCatalogPage(BookCatalogFilter filter, BookCatalogSort sort, String cursor, Integer pageSize) throws ServiceException;
+
+    List<BookListView> searchBooks(String query, Integer limit) throws ServiceException;
+
+    BookDetailView getBookById(Integer id);
 
-    Book getBookById(Integer id);
+    int getBookVersionById(Integer id);
 
     void deleteBookById(Integer id);
     
@@ -1,110 +1,182 @@
 package com.patiun.libraryspring.book;
 
 import com.patiun.libraryspring.exception.ElementNotFoundException;
+import com.patiun.libraryspring.exception.ServiceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    @Value("${catalog.page-size.default:20}")
+    private int defaultCatalogPageSize;
+
+    @Value("${catalog.page-size.max:100}")
+    private int maxCatalogPageSize;
+
     private final BookRepository bookRepository;
-    private final AuthorRepository authorRepository;
-    private final EditorRepository editorRepository;
-    private final GenreRepository genreRepository;
-    private final PublisherRepository publisherRepository;
-    private final PrintingHouseRepository printingHouseRepository;
+    private final BookReferenceResolver referenceResolver;
+    private final BookSearchIndex searchIndex;
+    private final BookDetailCache detailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository, EditorRepository editorRepository, GenreRepository genreRepository, PublisherRepository publisherRepository, PrintingHouseRepository printingHouseRepository) {
+    public BookServiceImpl(BookRepository bookRepository, BookReferenceResolver referenceResolver, BookSearchIndex searchIndex, BookDetailCache detailCache, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
-        this.authorRepository = authorRepository;
-        this.editorRepository = editorRepository;
-        this.genreRepository = genreRepository;
-        this.publisherRepository = publisherRepository;
-        this.printingHouseRepository = printingHouseRepository;
+        this.referenceResolver = referenceResolver;
+        this.searchIndex = searchIndex;
+        this.detailCache = detailCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public void createBook(Book inputBook) {
-        setupBookToPersist(inputBook);
-        bookRepository.save(inputBook);
+        referenceResolver.resolve(List.of(inputBook));
+        Book savedBook = bookRepository.save(inputBook);
+        eventPublisher.publishEvent(new BookChangedEvent(savedBook.getId(), BookChangeType.CREATED));
     }
 
     @Override
-    public List<Book> getAllBooks() {
-        return bookRepository.findAllByIsDeletedFalse();
+    @Transactional
+    public List<Integer> importBooks(List<Book> inputBooks) {
+        referenceResolver.resolve(inputBooks);
+        bookRepository.insertAll(inputBooks);
+        List<Integer> bookIds = inputBooks.stream()
+                .map(Book::getId)
+                .toList();
+        eventPublisher.publishEvent(new BooksImportedEvent(bookIds));
+        return bookIds;
     }
 
     @Override
-    public Book getBookById(Integer id) {
-        return getExistingBookById(id);
+    public List<BookListView> getAllBooks() {
+        List<BookListView> books = bookRepository.findAllListViews();
+        return withAuthorNames(books);
+    }
+
+    @Override
+    public BookCatalogPage getBookCatalogPage(BookCatalogFilter filter, BookCatalogSort sort, String cursor, Integer pageSize) throws ServiceException {
+        int limit = resolvePageSize(pageSize);
+
+        BookCatalogCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = BookCatalogCursor.decode(cursor);
+            if (sort != null && sort != after.getSort()) {
+                throw new ServiceException("The cursor was issued for sorting by " + after.getSort() + ", not by " + sort);
+            }
+            sort = after.getSort();
+        }
+        if (sort == null) {
+            sort = BookCatalogSort.ID;
+        }
+
+        List<BookListView> books = bookRepository.findCatalogPage(filter, sort, after, limit + 1);
+        if (books.size() <= limit) {
+            return new BookCatalogPage(withAuthorNames(books), null);
+        }
+
+        List<BookListView> pageBooks = withAuthorNames(books.subList(0, limit));
+        BookListView lastBook = pageBooks.get(limit - 1);
+        String nextCursor = BookCatalogCursor.after(sort, lastBook)
+                .encode();
+        return new BookCatalogPage(pageBooks, nextCursor);
     }
 
     @Override
+    public List<BookListView> searchBooks(String query, Integer limit) throws ServiceException {
+        if (query == null || query.isBlank()) {
+            throw new ServiceException("Search query must not be blank");
+        }
+        List<Integer> rankedBookIds = searchIndex.search(query, resolvePageSize(limit));
+        if (rankedBookIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, BookListView> foundBooksById = bookRepository.findListViewsByIdIn(rankedBookIds)
+                .stream()
+                .collect(Collectors.toMap(BookListView::id, Function.identity()));
+        List<BookListView> rankedBooks = rankedBookIds.stream()
+                .map(foundBooksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return withAuthorNames(rankedBooks);
+    }
+
+    @Override
+    public BookDetailView getBookById(Integer id) {
+        return detailCache.get(id, this::loadBookDetailView)
+                .orElseThrow(() -> new ElementNotFoundException("Could not find a book by id = " + id));
+    }
+
+    @Override
+    public int getBookVersionById(Integer id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new ElementNotFoundException("Could not find a book by id = " + id));
+    }
+
+    @Override
+    @Transactional
     public void deleteBookById(Integer id) {
         Book targetBook = getExistingBookById(id);
         targetBook.setDeleted(true);
         bookRepository.save(targetBook);
+        eventPublisher.publishEvent(new BookChangedEvent(id, BookChangeType.DELETED));
     }
 
     @Override
+    @Transactional
     public void updateBookById(Integer id, Book inputBook) {
-        getExistingBookById(id);
+        Book existingBook = getExistingBookById(id);
         inputBook.setId(id);
-        setupBookToPersist(inputBook);
+        inputBook.setVersion(existingBook.getVersion());
+        referenceResolver.resolve(List.of(inputBook));
         bookRepository.save(inputBook);
+        eventPublisher.publishEvent(new BookChangedEvent(id, BookChangeType.UPDATED));
     }
 
-    private void setupBookToPersist(Book inputBook) {
-        List<Author> authors = inputBook.getAuthors()
-                .stream()
-                .map(author -> {
-                    String authorName = author.getName();
-                    Optional<Author> existingAuthorOptional = authorRepository.findByName(authorName);
-                    return existingAuthorOptional.orElse(author);
-                })
-                .toList();
-        inputBook.setAuthors(authors);
+    private int resolvePageSize(Integer pageSize) throws ServiceException {
+        if (pageSize == null) {
+            return Math.min(defaultCatalogPageSize, maxCatalogPageSize);
+        }
+        if (pageSize < 1) {
+            throw new ServiceException("Page size must be at least 1");
+        }
+        return Math.min(pageSize, maxCatalogPageSize);
+    }
 
-        List<Editor> editors = inputBook.getEditors()
+    private List<BookListView> withAuthorNames(List<BookListView> books) {
+        if (books.isEmpty()) {
+            return books;
+        }
+        List<Integer> bookIds = books.stream()
+                .map(BookListView::id)
+                .toList();
+        Map<Integer, List<String>> authorNamesByBookId = bookRepository.findAuthorViewsByBookIdIn(bookIds)
                 .stream()
-                .map(editor -> {
-                    String editorRole = editor.getRole();
-                    String editorName = editor.getName();
-                    Optional<Editor> existingEditorOptional = editorRepository.findByRoleAndName(editorRole, editorName);
-                    return existingEditorOptional.orElse(editor);
-                })
+                .collect(Collectors.groupingBy(BookAuthorView::bookId, Collectors.mapping(BookAuthorView::name, Collectors.toList())));
+        return books.stream()
+                .map(book -> book.withAuthors(authorNamesByBookId.getOrDefault(book.id(), List.of())))
                 .toList();
-        inputBook.setEditors(editors);
-
-        String genreName = inputBook.getGenre()
-                .getName();
-        Genre genre = genreRepository.findByName(genreName)
-                .orElse(new Genre(null, genreName));
-        inputBook.setGenre(genre);
-
-        String publisherName = inputBook.getPublisher()
-                .getName();
-        String publisherPostalCode = inputBook.getPublisher()
-                .getPostalCode();
-        String publisherAddress = inputBook.getPublisher()
-                .getAddress();
-        Publisher publisher = publisherRepository.findByNameAndPostalCodeAndAddress(publisherName, publisherPostalCode, publisherAddress)
-                .orElse(new Publisher(null, publisherName, publisherPostalCode, publisherAddress));
-        inputBook.setPublisher(publisher);
-
-        String printingHouseName = inputBook.getPrintingHouse()
-                .getName();
-        String printingHousePostalCode = inputBook.getPrintingHouse()
-                .getPostalCode();
-        String printingHouseAddress = inputBook.getPrintingHouse()
-                .getAddress();
-        PrintingHouse printingHouse = printingHouseRepository.findByNameAndPostalCodeAndAddress(printingHouseName, printingHousePostalCode, printingHouseAddress)
-                .orElse(new PrintingHouse(null, printingHouseName, printingHousePostalCode, printingHouseAddress));
-        inputBook.setPrintingHouse(printingHouse);
+    }
+
+    private Optional<BookDetailView> loadBookDetailView(Integer id) {
+        return bookRepository.findDetailViewById(id)
+                .map(book -> {
+                    List<AuthorView> authors = bookRepository.findAuthorViewsByBookId(id);
+                    List<EditorView> editors = bookRepository.findEditorViewsByBookId(id);
+                    return book.withContributors(authors, editors);
+                });
     }
 
     private Book getExistingBookById(Integer id) {
@@ -0,0 +1,42 @@
+package com.patiun.libraryspring.book;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BooksImportedEvent {
+
+    private final List<Integer> bookIds;
+
+    public BooksImportedEvent(List<Integer> bookIds) {
+        this.bookIds = bookIds;
+    }
+
+    public List<Integer> getBookIds() {
+        return bookIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BooksImportedEvent that = (BooksImportedEvent) o;
+        return Objects.equals(bookIds, that.bookIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(bookIds);
+    }
+
+    @Override
+    public String toString() {
+        return "BooksImportedEvent{" +
+                "bookIds=" + bookIds +
+                '}';
+    }
+}
@@ -1,10 +1,14 @@
 package com.patiun.libraryspring.book;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EditorRepository extends CrudRepository<Editor, Integer> {
+public interface EditorRepository extends JpaRepository<Editor, Integer> {
 
     Optional<Editor> findByRoleAndName(String role, String name);
+
+    List<Editor> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.book;
+
+public record EditorView(Integer id, String role, String name) {
+}
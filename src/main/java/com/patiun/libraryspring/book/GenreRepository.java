@@ -1,10 +1,14 @@
 package com.patiun.libraryspring.book;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface GenreRepository extends CrudRepository<Genre, Integer> {
+public interface GenreRepository extends JpaRepository<Genre, Integer> {
 
     Optional<Genre> findByName(String name);
+
+    List<Genre> findByNameIn(Collection<String> names);
 }
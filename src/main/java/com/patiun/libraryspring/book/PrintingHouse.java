@@ -1,10 +1,12 @@
 package com.patiun.libraryspring.book;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.Objects;
 
 @Entity
+@BatchSize(size = 100)
 @Table(name = "printing_house", uniqueConstraints = @UniqueConstraint(columnNames = {"name", "postal_code", "address"}))
 public class PrintingHouse {
 
@@ -1,10 +1,14 @@
 package com.patiun.libraryspring.book;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface PrintingHouseRepository extends CrudRepository<PrintingHouse, Integer> {
+public interface PrintingHouseRepository extends JpaRepository<PrintingHouse, Integer> {
 
     Optional<PrintingHouse> findByNameAndPostalCodeAndAddress(String name, String postalCode, String address);
+
+    List<PrintingHouse> findByNameIn(Collection<String> names);
 }
@@ -1,10 +1,14 @@
 package com.patiun.libraryspring.book;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface PublisherRepository extends CrudRepository<Publisher, Integer> {
+public interface PublisherRepository extends JpaRepository<Publisher, Integer> {
 
     Optional<Publisher> findByNameAndPostalCodeAndAddress(String name, String postalCode, String address);
+
+    List<Publisher> findByNameIn(Collection<String> names);
 }
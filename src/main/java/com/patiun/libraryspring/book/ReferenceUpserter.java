@@ -0,0 +1,85 @@
+package com.patiun.libraryspring.book;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class ReferenceUpserter implements SmartInitializingSingleton {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String POSTGRESQL_INSERT = "insert into %s (id, %s) values (nextval('%s'), %s) on conflict do nothing";
+
+    private static final String PORTABLE_INSERT = "insert into %s (id, %s) select next value for %s, %s where not exists (select 1 from %s where %s)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile boolean postgresql;
+
+    @Autowired
+    public ReferenceUpserter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String databaseProductName = jdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData()
+                        .getDatabaseProductName());
+        postgresql = POSTGRESQL.equals(databaseProductName);
+    }
+
+    public void insertAllIfAbsent(String table, String sequence, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = insertIfAbsentSql(table, sequence, rows.get(0));
+        SqlParameterSource[] batch = rows.stream()
+                .map(MapSqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        try {
+            jdbcTemplate.batchUpdate(sql, batch);
+        } catch (DuplicateKeyException e) {
+            insertEachIfAbsent(sql, batch);
+        }
+    }
+
+    private void insertEachIfAbsent(String sql, SqlParameterSource[] rows) {
+        for (SqlParameterSource row : rows) {
+            try {
+                jdbcTemplate.update(sql, row);
+            } catch (DuplicateKeyException ignored) {
+            }
+        }
+    }
+
+    private String insertIfAbsentSql(String table, String sequence, Map<String, ?> columnValues) {
+        String columns = String.join(", ", columnValues.keySet());
+        if (postgresql) {
+            String values = columnValues.keySet()
+                    .stream()
+                    .map(column -> ":" + column)
+                    .collect(Collectors.joining(", "));
+            return String.format(POSTGRESQL_INSERT, table, columns, sequence, values);
+        }
+        String values = columnValues.keySet()
+                .stream()
+                .map(column -> "cast(:" + column + " as varchar)")
+                .collect(Collectors.joining(", "));
+        String matchesKey = columnValues.keySet()
+                .stream()
+                .map(column -> column + " = :" + column)
+                .collect(Collectors.joining(" and "));
+        return String.format(PORTABLE_INSERT, table, columns, sequence, values, table, matchesKey);
+    }
+}
@@ -0,0 +1,39 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.user.User;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialsCache verifiedCredentialsCache;
+
+    public CachingDaoAuthenticationProvider(VerifiedCredentialsCache verifiedCredentialsCache) {
+        this.verifiedCredentialsCache = verifiedCredentialsCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String login = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (login == null || credentials == null) {
+            return super.authenticate(authentication);
+        }
+
+        String key = verifiedCredentialsCache.keyOf(login, credentials.toString());
+        User verifiedUser = verifiedCredentialsCache.getVerifiedUser(key);
+        if (verifiedUser != null) {
+            getPreAuthenticationChecks().check(verifiedUser);
+            getPostAuthenticationChecks().check(verifiedUser);
+            return createSuccessAuthentication(verifiedUser, authentication, verifiedUser);
+        }
+
+        long revocationCount = verifiedCredentialsCache.getRevocationCount();
+        Authentication result = super.authenticate(authentication);
+        if (result.getPrincipal() instanceof User user) {
+            verifiedCredentialsCache.putVerifiedUser(key, user, revocationCount);
+        }
+        return result;
+    }
+}
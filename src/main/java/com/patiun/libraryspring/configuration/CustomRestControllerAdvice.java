@@ -1,7 +1,10 @@
 package com.patiun.libraryspring.configuration;
 
 import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.exception.ServiceUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -38,4 +41,11 @@ public class CustomRestControllerAdvice {
         return Map.of(ERROR_MESSAGE_PROPERTY, message);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException cause) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(cause.getRetryAfter().toSeconds()))
+                .body(Map.of(ERROR_MESSAGE_PROPERTY, cause.getMessage()));
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.patiun.libraryspring.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(@Value("${idempotency.maximum-size:10000}") long maximumSize, @Value("${idempotency.expire-after-write:PT1H}") Duration expireAfterWrite, @Value("${idempotency.wait-timeout:PT30S}") Duration waitTimeout, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(maximumSize, expireAfterWrite, waitTimeout, meterRegistry));
+        registration.addUrlPatterns("/books", "/orders/*");
+        return registration;
+    }
+}
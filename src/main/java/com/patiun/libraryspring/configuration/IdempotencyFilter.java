@@ -0,0 +1,109 @@
+package com.patiun.libraryspring.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CACHE_NAME = "idempotencyKeys";
+
+    private final Cache<String, CompletableFuture<StoredResponse>> executions;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(long maximumSize, Duration expireAfterWrite, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.waitTimeout = waitTimeout;
+        CaffeineCacheMetrics.monitor(meterRegistry, executions, CACHE_NAME);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String key = toScopedKey(request);
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> previousExecution = executions.asMap()
+                .putIfAbsent(key, execution);
+        if (previousExecution != null) {
+            replay(previousExecution, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            executions.invalidate(key);
+            execution.completeExceptionally(e);
+            throw e;
+        }
+
+        int status = responseWrapper.getStatus();
+        if (!HttpStatusCode.valueOf(status).is2xxSuccessful()) {
+            executions.invalidate(key);
+        }
+        execution.complete(new StoredResponse(status, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(CompletableFuture<StoredResponse> execution, HttpServletResponse response) throws ServletException, IOException {
+        StoredResponse storedResponse;
+        try {
+            storedResponse = execution.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with the same idempotency key is still being processed");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a request with the same idempotency key", e);
+        } catch (ExecutionException e) {
+            throw new ServletException("A request with the same idempotency key has failed", e.getCause());
+        }
+
+        response.setStatus(storedResponse.status());
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+        if (storedResponse.contentType() != null) {
+            response.setContentType(storedResponse.contentType());
+        }
+        response.getOutputStream()
+                .write(storedResponse.body());
+    }
+
+    private String toScopedKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String principalName = principal != null ? principal.getName() : "";
+        return principalName + ' ' + request.getRequestURI() + ' ' + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+
+    private record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
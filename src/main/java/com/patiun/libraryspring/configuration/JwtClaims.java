@@ -0,0 +1,19 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+
+import java.time.Instant;
+
+public record JwtClaims(Integer userId, String login, UserRole role, Integer tokenEpoch, Instant expiresAt) {
+
+    public boolean isComplete() {
+        return userId != null && login != null && role != null && tokenEpoch != null;
+    }
+
+    public User toPrincipal() {
+        User principal = new User(userId, login, null, null, null, false, true, role);
+        principal.setTokenEpoch(tokenEpoch);
+        return principal;
+    }
+}
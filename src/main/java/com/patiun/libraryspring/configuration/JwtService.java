@@ -1,78 +1,130 @@
 package com.patiun.libraryspring.configuration;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtService {
 
-    @Value("${jwt.key:57AED715FF2956199F956BA682A44CB7CBBF54F98BAE7E07D75F7B0C976EAFE8}")
-    private String secret;
-
-    @Value("${jwt.expiration-milis:3600000}")
-    private long expirationTimeMilis;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_EPOCH_CLAIM = "epoch";
+
+    private static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final long expirationTimeMilis;
+
+    private final SecretKey signKey;
+    private final JwtParser parser;
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    @Autowired
+    public JwtService(@Value("${jwt.key:57AED715FF2956199F956BA682A44CB7CBBF54F98BAE7E07D75F7B0C976EAFE8}") String secret, @Value("${jwt.expiration-milis:3600000}") long expirationTimeMilis, @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize, MeterRegistry meterRegistry) {
+        this.expirationTimeMilis = expirationTimeMilis;
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new UntilTokenExpires(expirationTimeMilis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public JwtClaims extractTokenClaims(String token) {
+        return verifiedTokens.get(digest(token), tokenDigest -> parseTokenClaims(token));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_EPOCH_CLAIM, user.getTokenEpoch());
+        return createToken(claims, user.getLogin());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
+    private JwtClaims parseTokenClaims(String token) {
+        Claims claims = parser.parseSignedClaims(token)
                 .getPayload();
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(claims.get(USER_ID_CLAIM, Integer.class), claims.getSubject(), role == null ? null : UserRole.valueOf(role), claims.get(TOKEN_EPOCH_CLAIM, Integer.class), expiration == null ? null : expiration.toInstant());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-
-    public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
-    }
-
-
     private String createToken(Map<String, Object> claims, String username) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationTimeMilis))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] tokenDigest = MessageDigest.getInstance(TOKEN_DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder()
+                    .encodeToString(tokenDigest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(TOKEN_DIGEST_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, JwtClaims> {
+
+        private final long maxLifetimeNanos;
+
+        private UntilTokenExpires(long maxLifetimeMilis) {
+            this.maxLifetimeNanos = maxLifetimeMilis * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterCreate(String tokenDigest, JwtClaims claims, long currentTime) {
+            Instant expiresAt = claims.expiresAt();
+            if (expiresAt == null) {
+                return maxLifetimeNanos;
+            }
+            long nanosUntilExpiration = (expiresAt.toEpochMilli() - System.currentTimeMillis()) * 1_000_000;
+            return Math.max(0, Math.min(nanosUntilExpiration, maxLifetimeNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenDigest, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenDigest, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.patiun.libraryspring.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${password-hashing.threads:0}") int threads, @Value("${password-hashing.queue-capacity:64}") int queueCapacity, @Value("${password-hashing.wait-timeout:PT10S}") Duration waitTimeout, @Value("${password-hashing.retry-after:PT2S}") Duration retryAfter, MeterRegistry meterRegistry) {
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, queueCapacity, waitTimeout, retryAfter, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServiceUnavailableFilter> serviceUnavailableFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        FilterRegistrationBean<ServiceUnavailableFilter> registration = new FilterRegistrationBean<>(new ServiceUnavailableFilter(handlerExceptionResolver));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -4,15 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -38,8 +41,11 @@ public class RestSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, VerifiedCredentialsCache verifiedCredentialsCache) {
+        CachingDaoAuthenticationProvider authenticationProvider = new CachingDaoAuthenticationProvider(verifiedCredentialsCache);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        return authenticationProvider;
     }
 
     @Bean
@@ -48,15 +54,21 @@ public class RestSecurityConfig {
                 .authorizeHttpRequests((requests) -> requests
                         .requestMatchers(HttpMethod.POST, BOOKS_URL_PATTERN).hasAuthority(ADD_BOOKS.name())
                         .requestMatchers(HttpMethod.POST, "/orders/**").hasAuthority(PLACE_ORDERS.name())
+                        .requestMatchers(HttpMethod.POST, "/holds/**").hasAuthority(PLACE_ORDERS.name())
+                        .requestMatchers(HttpMethod.GET, "/books/export").hasAuthority(EDIT_BOOKS.name())
                         .requestMatchers(HttpMethod.GET, BOOKS_URL_PATTERN).permitAll()
                         .requestMatchers(HttpMethod.GET, "/users/auth").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/users/change-password").authenticated()
                         .requestMatchers(HttpMethod.GET, "/users").hasAuthority(READ_USERS.name())
                         .requestMatchers(HttpMethod.GET, "/users/*").authenticated()
                         .requestMatchers(HttpMethod.GET, "/orders/**").hasAuthority(READ_ORDERS.name())
+                        .requestMatchers(HttpMethod.GET, "/holds/**").hasAuthority(READ_ORDERS.name())
+                        .requestMatchers(HttpMethod.DELETE, "/holds/*").hasAuthority(READ_ORDERS.name())
+                        .requestMatchers(HttpMethod.GET, "/stats/**").hasAuthority(JUDGE_ORDERS.name())
                         .requestMatchers(HttpMethod.PUT, BOOKS_URL_PATTERN).hasAuthority(EDIT_BOOKS.name())
                         .requestMatchers(HttpMethod.DELETE, BOOKS_URL_PATTERN).hasAuthority(EDIT_BOOKS.name())
                         .requestMatchers(HttpMethod.PUT, "/users/**").hasAuthority(EDIT_USERS.name())
+                        .requestMatchers(HttpMethod.PATCH, "/orders/batch").access(new WebExpressionAuthorizationManager("hasAuthority('" + JUDGE_ORDERS.name() + "') and hasAuthority('" + COLLECT_ORDERS.name() + "')"))
                         .requestMatchers(HttpMethod.PATCH, "/orders/*/collect", "/orders/*/return").hasAuthority(COLLECT_ORDERS.name())
                         .requestMatchers(HttpMethod.PATCH, "/orders/*/approve", "/orders/*/decline").hasAuthority(JUDGE_ORDERS.name())
                         .anyRequest().permitAll()
@@ -77,7 +89,8 @@ public class RestSecurityConfig {
                 }
                 registry.addMapping("/**")
                         .allowedOrigins(allowedCorsUrls)
-                        .allowedMethods("GET", "POST", "PATCH", "PUT", "DELETE");
+                        .allowedMethods("GET", "POST", "PATCH", "PUT", "DELETE")
+                        .exposedHeaders(HttpHeaders.ETAG, IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER);
             }
         };
     }
@@ -0,0 +1,44 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.exception.ServiceUnavailableException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+public class ServiceUnavailableFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public ServiceUnavailableFilter(HandlerExceptionResolver handlerExceptionResolver) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServiceUnavailableException e) {
+            resolveServiceUnavailable(request, response, e);
+        } catch (ServletException e) {
+            if (!(e.getCause() instanceof ServiceUnavailableException cause)) {
+                throw e;
+            }
+            resolveServiceUnavailable(request, response, cause);
+        }
+    }
+
+    private void resolveServiceUnavailable(HttpServletRequest request, HttpServletResponse response, ServiceUnavailableException cause) {
+        if (response.isCommitted()) {
+            throw cause;
+        }
+        response.resetBuffer();
+        if (handlerExceptionResolver.resolveException(request, response, null, cause) == null) {
+            throw cause;
+        }
+    }
+}
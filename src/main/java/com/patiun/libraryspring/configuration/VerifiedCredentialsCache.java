@@ -0,0 +1,107 @@
+package com.patiun.libraryspring.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.patiun.libraryspring.user.TokenEpochCache;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserTokensRevokedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class VerifiedCredentialsCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String CACHE_NAME = "verifiedCredentials";
+
+    private final TokenEpochCache tokenEpochCache;
+    private final SecretKey hmacKey;
+    private final Cache<String, User> verifiedUsers;
+    private final AtomicLong revocations = new AtomicLong();
+
+    @Autowired
+    public VerifiedCredentialsCache(TokenEpochCache tokenEpochCache, @Value("${basic-auth-cache.maximum-size:1000}") long maximumSize, @Value("${basic-auth-cache.expire-after-write:PT1M}") Duration expireAfterWrite, MeterRegistry meterRegistry) {
+        this.tokenEpochCache = tokenEpochCache;
+        this.hmacKey = generateHmacKey();
+        this.verifiedUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedUsers, CACHE_NAME);
+    }
+
+    public String keyOf(String login, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(login.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder()
+                    .encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not compute the " + HMAC_ALGORITHM + " of the credentials", e);
+        }
+    }
+
+    public User getVerifiedUser(String key) {
+        User verifiedUser = verifiedUsers.getIfPresent(key);
+        if (verifiedUser == null) {
+            return null;
+        }
+        if (!tokenEpochCache.isCurrent(verifiedUser.getId(), verifiedUser.getTokenEpoch())) {
+            verifiedUsers.invalidate(key);
+            return null;
+        }
+        return verifiedUser;
+    }
+
+    public long getRevocationCount() {
+        return revocations.get();
+    }
+
+    public void putVerifiedUser(String key, User user, long revocationCountBeforeVerification) {
+        verifiedUsers.put(key, withoutPassword(user));
+        if (revocations.get() != revocationCountBeforeVerification) {
+            verifiedUsers.invalidate(key);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        revocations.incrementAndGet();
+        verifiedUsers.asMap()
+                .values()
+                .removeIf(user -> event.getUserId().equals(user.getId()));
+    }
+
+    private static User withoutPassword(User user) {
+        User strippedUser = new User(user.getId(), user.getLogin(), null, user.getFirstName(), user.getLastName(), user.getBlocked(), user.getEnabled(), user.getRole());
+        strippedUser.setTokenEpoch(user.getTokenEpoch());
+        return strippedUser;
+    }
+
+    private static SecretKey generateHmacKey() {
+        try {
+            return KeyGenerator.getInstance(HMAC_ALGORITHM)
+                    .generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.Book;
+import com.patiun.libraryspring.user.User;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "book_hold", uniqueConstraints = @UniqueConstraint(name = "book_hold_book_user_uq", columnNames = {"book_id", "user_id"}),
+        indexes = @Index(name = "book_hold_book_id_idx", columnList = "book_id, id"))
+public class BookHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "book_id")
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "rental_type", length = 64)
+    @Enumerated(EnumType.STRING)
+    private RentalType rentalType;
+
+    @Column(name = "days")
+    private int days;
+
+    @Column(name = "placed_date")
+    private LocalDate placedDate;
+
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0 not null")
+    private int version;
+
+    public BookHold() {
+    }
+
+    public BookHold(Integer id, Book book, User user, RentalType rentalType, int days, LocalDate placedDate) {
+        this.id = id;
+        this.book = book;
+        this.user = user;
+        this.rentalType = rentalType;
+        this.days = days;
+        this.placedDate = placedDate;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public RentalType getRentalType() {
+        return rentalType;
+    }
+
+    public void setRentalType(RentalType rentalType) {
+        this.rentalType = rentalType;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public LocalDate getPlacedDate() {
+        return placedDate;
+    }
+
+    public void setPlacedDate(LocalDate placedDate) {
+        this.placedDate = placedDate;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookHold bookHold = (BookHold) o;
+        return days == bookHold.days && Objects.equals(id, bookHold.id) && Objects.equals(book, bookHold.book) && Objects.equals(user, bookHold.user) && rentalType == bookHold.rentalType && Objects.equals(placedDate, bookHold.placedDate);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(book);
+        result = 31 * result + Objects.hashCode(user);
+        result = 31 * result + Objects.hashCode(rentalType);
+        result = 31 * result + days;
+        result = 31 * result + Objects.hashCode(placedDate);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookHold{" +
+                "id=" + id +
+                ", book=" + book +
+                ", user=" + user +
+                ", rentalType=" + rentalType +
+                ", days=" + days +
+                ", placedDate=" + placedDate +
+                '}';
+    }
+}
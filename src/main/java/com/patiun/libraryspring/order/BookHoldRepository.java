@@ -0,0 +1,30 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookHoldRepository extends ListCrudRepository<BookHold, Integer> {
+
+    String VIEW_QUERY = "select new com.patiun.libraryspring.order.BookHoldView(h.id, b.id, b.title, u.id, h.rentalType, h.days, h.placedDate, (select count(q) from BookHold q where q.book.id = b.id and q.id <= h.id)) from BookHold h join h.book b join h.user u";
+
+    boolean existsByBookId(Integer bookId);
+
+    boolean existsByBookIdAndUserId(Integer bookId, Integer userId);
+
+    List<BookHold> findByBookIdOrderById(Integer bookId, Pageable pageable);
+
+    @Query(VIEW_QUERY + " order by b.id, h.id")
+    List<BookHoldView> findAllViews();
+
+    @Query(VIEW_QUERY + " where u.id = :userId order by h.id")
+    List<BookHoldView> findViewsByUserId(Integer userId);
+
+    @Query(VIEW_QUERY + " where h.id = :id")
+    Optional<BookHoldView> findViewById(Integer id);
+}
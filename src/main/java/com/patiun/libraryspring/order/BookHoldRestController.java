@@ -0,0 +1,72 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/holds")
+public class BookHoldRestController {
+
+    private final BookHoldService holdService;
+
+    @Autowired
+    public BookHoldRestController(BookHoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    @PostMapping("{bookId}")
+    public void placeHold(@PathVariable Integer bookId, @RequestBody @Valid BookOrderDto orderDto, final Authentication authentication) throws ServiceException {
+        User currentUser = (User) authentication.getPrincipal();
+        Integer currentUserId = currentUser.getId();
+
+        RentalType type = orderDto.getRentalType();
+        Integer days = orderDto.getDays();
+        holdService.placeHold(bookId, currentUserId, type, days);
+    }
+
+    @GetMapping
+    public List<BookHoldView> readAllHolds(final Authentication authentication) {
+        List<BookHoldView> holds;
+        User currentUser = (User) authentication.getPrincipal();
+        switch (currentUser.getRole()) {
+            case LIBRARIAN -> holds = holdService.getAllHolds();
+            case READER -> {
+                Integer readerId = currentUser.getId();
+                holds = holdService.getHoldsOfUser(readerId);
+            }
+            default -> throw new UnsupportedOperationException("Users of your role are not allowed to view holds!");
+        }
+        return holds;
+    }
+
+    @GetMapping("{id}")
+    public BookHoldView readHold(@PathVariable Integer id, final Authentication authentication) {
+        BookHoldView targetHold = holdService.getHoldById(id);
+        checkHoldAccess(targetHold.userId(), authentication);
+        return targetHold;
+    }
+
+    @DeleteMapping("{id}")
+    public void cancelHold(@PathVariable Integer id, final Authentication authentication) {
+        BookHoldView targetHold = holdService.getHoldById(id);
+        checkHoldAccess(targetHold.userId(), authentication);
+        holdService.cancelHoldById(id);
+    }
+
+    private void checkHoldAccess(Integer holdUserId, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        Integer currentUserId = currentUser.getId();
+        UserRole currentUserRole = currentUser.getRole();
+        if (!(currentUserRole == UserRole.READER && Objects.equals(holdUserId, currentUserId) || currentUserRole == UserRole.LIBRARIAN)) {
+            throw new UnsupportedOperationException("You do not have sufficient privileges to access this hold");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.exception.ServiceException;
+
+import java.util.List;
+
+public interface BookHoldService {
+
+    void placeHold(Integer bookId, Integer userId, RentalType type, Integer days) throws ServiceException;
+
+    List<BookHoldView> getAllHolds();
+
+    List<BookHoldView> getHoldsOfUser(Integer userId);
+
+    BookHoldView getHoldById(Integer id);
+
+    void cancelHoldById(Integer id);
+}
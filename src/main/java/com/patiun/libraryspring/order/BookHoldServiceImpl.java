@@ -0,0 +1,72 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.Book;
+import com.patiun.libraryspring.book.BookRepository;
+import com.patiun.libraryspring.exception.ElementNotFoundException;
+import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class BookHoldServiceImpl implements BookHoldService {
+
+    private final BookHoldRepository holdRepository;
+    private final BookRepository bookRepository;
+
+    @Autowired
+    public BookHoldServiceImpl(BookHoldRepository holdRepository, BookRepository bookRepository) {
+        this.holdRepository = holdRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    @Transactional(rollbackFor = ServiceException.class)
+    public void placeHold(Integer bookId, Integer userId, RentalType type, Integer days) throws ServiceException {
+        Book heldBook = bookRepository.findForUpdateById(bookId)
+                .orElseThrow(() -> new ServiceException("Could not find a book by id = " + bookId));
+        if (heldBook.isDeleted()) {
+            throw new ServiceException("Could not place a hold on book by id = " + bookId + ": the book is deleted");
+        }
+        if (heldBook.getAmount() > 0) {
+            throw new ServiceException("Could not place a hold on book by id = " + bookId + ": the book is in stock, it can be ordered right away");
+        }
+        if (holdRepository.existsByBookIdAndUserId(bookId, userId)) {
+            throw new ServiceException("Could not place a hold on book by id = " + bookId + ": you are already waiting for it");
+        }
+
+        User holdingUser = new User();
+        holdingUser.setId(userId);
+
+        BookHold newHold = new BookHold(null, heldBook, holdingUser, type, days, LocalDate.now());
+
+        holdRepository.save(newHold);
+    }
+
+    @Override
+    public List<BookHoldView> getAllHolds() {
+        return holdRepository.findAllViews();
+    }
+
+    @Override
+    public List<BookHoldView> getHoldsOfUser(Integer userId) {
+        return holdRepository.findViewsByUserId(userId);
+    }
+
+    @Override
+    public BookHoldView getHoldById(Integer id) {
+        return holdRepository.findViewById(id)
+                .orElseThrow(() -> new ElementNotFoundException("Could not find a hold by id = " + id));
+    }
+
+    @Override
+    public void cancelHoldById(Integer id) {
+        BookHold targetHold = holdRepository.findById(id)
+                .orElseThrow(() -> new ElementNotFoundException("Could not find a hold by id = " + id));
+        holdRepository.delete(targetHold);
+    }
+}
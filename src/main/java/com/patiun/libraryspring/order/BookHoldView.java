@@ -0,0 +1,13 @@
+package com.patiun.libraryspring.order;
+
+import java.time.LocalDate;
+
+public record BookHoldView(Integer id, HeldBookView book, Integer userId, RentalType rentalType, int days, LocalDate placedDate, long position) {
+
+    public BookHoldView(Integer id, Integer bookId, String bookTitle, Integer userId, RentalType rentalType, int days, LocalDate placedDate, long position) {
+        this(id, new HeldBookView(bookId, bookTitle), userId, rentalType, days, placedDate, position);
+    }
+
+    public record HeldBookView(Integer id, String title) {
+    }
+}
@@ -8,9 +8,24 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "book_order")
+@NamedEntityGraph(name = BookOrder.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "book", subgraph = "book"),
+        @NamedAttributeNode("user")
+}, subgraphs = @NamedSubgraph(name = "book", attributeNodes = {
+        @NamedAttributeNode("genre"),
+        @NamedAttributeNode("publisher"),
+        @NamedAttributeNode("printingHouse")
+}))
+@Table(name = "book_order", indexes = {
+        @Index(name = "book_order_state_start_date_idx", columnList = "state, start_date, id"),
+        @Index(name = "book_order_user_start_date_idx", columnList = "user_id, start_date, id"),
+        @Index(name = "book_order_book_start_date_idx", columnList = "book_id, start_date, id"),
+        @Index(name = "book_order_state_end_date_idx", columnList = "state, end_date")
+})
 public class BookOrder {
 
+    public static final String DETAILS_GRAPH = "BookOrder.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Integer id;
@@ -40,6 +55,10 @@ public class BookOrder {
     @Enumerated(EnumType.STRING)
     private OrderState state;
 
+    @Version
+    @Column(name = "version", columnDefinition = "integer default 0 not null")
+    private int version;
+
     public BookOrder() {
     }
 
@@ -118,6 +137,14 @@ public class BookOrder {
         this.state = state;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,29 @@
+package com.patiun.libraryspring.order;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Locale;
+
+public enum BookOrderAction {
+
+    APPROVE(OrderState.APPROVED),
+    DECLINE(OrderState.DECLINED),
+    COLLECT(OrderState.BOOK_TAKEN),
+    RETURN(OrderState.BOOK_RETURNED);
+
+    private final OrderState targetState;
+
+    BookOrderAction(OrderState targetState) {
+        this.targetState = targetState;
+    }
+
+    public OrderState getTargetState() {
+        return targetState;
+    }
+
+    @JsonCreator
+    public static BookOrderAction of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class BookOrderArchiver {
+
+    private static final String SELECT_BATCH = "select id, start_date from book_order where state in ('BOOK_RETURNED', 'DECLINED') and end_date < :cutoffDate order by end_date, id limit :batchSize";
+
+    private static final String LOCK_BATCH = " for update skip locked";
+
+    private static final String COPY_BATCH = "insert into book_order_history (id, book_id, user_id, rental_type, start_date, end_date, return_date, state, version, archived_at) " +
+            "select id, book_id, user_id, rental_type, start_date, end_date, return_date, state, version, :archivedAt from book_order where id in (:ids)";
+
+    private static final String DELETE_BATCH = "delete from book_order where id in (:ids)";
+
+    @Value("${order-archive.max-age-days:365}")
+    private int maxAgeDays;
+
+    @Value("${order-archive.batch-size:500}")
+    private int batchSize;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookOrderHistorySchema historySchema;
+
+    @Autowired
+    public BookOrderArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, BookOrderHistorySchema historySchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.historySchema = historySchema;
+    }
+
+    @Scheduled(fixedDelayString = "${order-archive.interval:PT1H}")
+    public void archive() {
+        LocalDate cutoffDate = LocalDate.now()
+                .minusDays(maxAgeDays);
+        Integer archivedOrders;
+        do {
+            archivedOrders = transactionTemplate.execute(status -> archiveBatch(cutoffDate));
+        } while (archivedOrders != null && archivedOrders == batchSize);
+    }
+
+    private int archiveBatch(LocalDate cutoffDate) {
+        MapSqlParameterSource selectParameters = new MapSqlParameterSource()
+                .addValue("cutoffDate", cutoffDate)
+                .addValue("batchSize", batchSize);
+        String selectBatch = historySchema.isPartitioned() ? SELECT_BATCH + LOCK_BATCH : SELECT_BATCH;
+        List<ArchivedOrder> batch = jdbcTemplate.query(selectBatch, selectParameters,
+                (resultSet, rowNumber) -> new ArchivedOrder(resultSet.getInt("id"), resultSet.getObject("start_date", LocalDate.class)));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<YearMonth> months = batch.stream()
+                .map(order -> YearMonth.from(order.startDate()))
+                .collect(Collectors.toSet());
+        historySchema.createPartitions(months);
+
+        List<Integer> ids = batch.stream()
+                .map(ArchivedOrder::id)
+                .toList();
+        MapSqlParameterSource batchParameters = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", LocalDateTime.now());
+        jdbcTemplate.update(COPY_BATCH, batchParameters);
+        jdbcTemplate.update(DELETE_BATCH, batchParameters);
+        return batch.size();
+    }
+
+    private record ArchivedOrder(Integer id, LocalDate startDate) {
+    }
+}
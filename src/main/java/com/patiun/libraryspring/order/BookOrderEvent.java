@@ -0,0 +1,119 @@
+package com.patiun.libraryspring.order;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Immutable
+@Table(name = "order_event", indexes = @Index(name = "order_event_order_id_idx", columnList = "order_id, id"))
+public class BookOrderEvent {
+
+    private static final String ID_SEQUENCE = "order_event_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Integer orderId;
+
+    @Column(name = "book_id", nullable = false, updatable = false)
+    private Integer bookId;
+
+    @Column(name = "previous_state", length = 64, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private OrderState previousState;
+
+    @Column(name = "new_state", length = 64, nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private OrderState newState;
+
+    @Column(name = "actor_id", updatable = false)
+    private Integer actorId;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public BookOrderEvent() {
+    }
+
+    public BookOrderEvent(Long id, Integer orderId, Integer bookId, OrderState previousState, OrderState newState, Integer actorId, LocalDateTime occurredAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.bookId = bookId;
+        this.previousState = previousState;
+        this.newState = newState;
+        this.actorId = actorId;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public Integer getBookId() {
+        return bookId;
+    }
+
+    public OrderState getPreviousState() {
+        return previousState;
+    }
+
+    public OrderState getNewState() {
+        return newState;
+    }
+
+    public Integer getActorId() {
+        return actorId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderEvent that = (BookOrderEvent) o;
+        return Objects.equals(id, that.id) && Objects.equals(orderId, that.orderId) && Objects.equals(bookId, that.bookId) && previousState == that.previousState && newState == that.newState && Objects.equals(actorId, that.actorId) && Objects.equals(occurredAt, that.occurredAt);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(orderId);
+        result = 31 * result + Objects.hashCode(bookId);
+        result = 31 * result + Objects.hashCode(previousState);
+        result = 31 * result + Objects.hashCode(newState);
+        result = 31 * result + Objects.hashCode(actorId);
+        result = 31 * result + Objects.hashCode(occurredAt);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderEvent{" +
+                "id=" + id +
+                ", orderId=" + orderId +
+                ", bookId=" + bookId +
+                ", previousState=" + previousState +
+                ", newState=" + newState +
+                ", actorId=" + actorId +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
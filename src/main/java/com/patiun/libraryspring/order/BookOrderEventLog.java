@@ -0,0 +1,37 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookOrderEventLog {
+
+    private final BookOrderEventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BookOrderEventLog(BookOrderEventRepository eventRepository, ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    public void onOrderStateChanged(BookOrderStateChangedEvent event) {
+        BookOrderEvent orderEvent = new BookOrderEvent(null, event.getOrderId(), event.getBookId(), event.getPreviousState(), event.getNewState(), getCurrentUserId(), event.getOccurredAt());
+        eventPublisher.publishEvent(eventRepository.save(orderEvent));
+    }
+
+    private Integer getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext()
+                .getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User currentUser) {
+            return currentUser.getId();
+        }
+        return null;
+    }
+}
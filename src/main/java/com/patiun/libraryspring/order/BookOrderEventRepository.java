@@ -0,0 +1,16 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RepositoryDefinition(domainClass = BookOrderEvent.class, idClass = Long.class)
+public interface BookOrderEventRepository {
+
+    BookOrderEvent save(BookOrderEvent event);
+
+    List<BookOrderEvent> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+}
@@ -0,0 +1,127 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.Book;
+import com.patiun.libraryspring.user.User;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Immutable
+@Subselect("select * from book_order_history")
+@Synchronize("book_order_history")
+public class BookOrderHistory {
+
+    @Id
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id")
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "rental_type")
+    @Enumerated(EnumType.STRING)
+    private RentalType rentalType;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "return_date")
+    private LocalDate returnDate;
+
+    @Column(name = "state")
+    @Enumerated(EnumType.STRING)
+    private OrderState state;
+
+    @Column(name = "version")
+    private int version;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    public BookOrderHistory() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public RentalType getRentalType() {
+        return rentalType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public OrderState getState() {
+        return state;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderHistory that = (BookOrderHistory) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderHistory{" +
+                "id=" + id +
+                ", rentalType=" + rentalType +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", returnDate=" + returnDate +
+                ", state=" + state +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
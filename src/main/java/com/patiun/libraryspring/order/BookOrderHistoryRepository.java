@@ -0,0 +1,20 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RepositoryDefinition(domainClass = BookOrderHistory.class, idClass = Integer.class)
+public interface BookOrderHistoryRepository extends BookOrderHistoryRepositoryCustom {
+
+    String VIEW_QUERY = "select new com.patiun.libraryspring.order.BookOrderView(h.id, b.id, b.title, b.version, u.id, u.login, u.firstName, u.lastName, h.rentalType, h.startDate, h.endDate, h.returnDate, h.state, h.version) from BookOrderHistory h join h.book b join h.user u";
+
+    @Query(VIEW_QUERY + " where h.id = :id")
+    Optional<BookOrderView> findViewById(Integer id);
+
+    @Query("select new com.patiun.libraryspring.order.BookOrderVersion(u.id, h.version, b.version) from BookOrderHistory h join h.book b join h.user u where h.id = :id")
+    Optional<BookOrderVersion> findVersionById(Integer id);
+}
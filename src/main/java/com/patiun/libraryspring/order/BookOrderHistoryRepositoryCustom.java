@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.order;
+
+import java.util.List;
+
+public interface BookOrderHistoryRepositoryCustom {
+
+    List<BookOrderView> findQueuePage(BookOrderQueueFilter filter, BookOrderQueueCursor after, int limit);
+}
@@ -0,0 +1,17 @@
+package com.patiun.libraryspring.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+public class BookOrderHistoryRepositoryCustomImpl implements BookOrderHistoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookOrderView> findQueuePage(BookOrderQueueFilter filter, BookOrderQueueCursor after, int limit) {
+        return BookOrderQueueQuery.findPage(entityManager, BookOrderHistory.class, filter, after, limit);
+    }
+}
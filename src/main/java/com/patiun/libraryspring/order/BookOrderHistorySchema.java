@@ -0,0 +1,74 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+@Component
+public class BookOrderHistorySchema implements SmartInitializingSingleton {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String COLUMNS = """
+            id integer not null,
+            book_id integer,
+            user_id integer,
+            rental_type varchar(64),
+            start_date date not null,
+            end_date date,
+            return_date date,
+            state varchar(64),
+            version integer default 0 not null,
+            archived_at timestamp not null""";
+
+    private static final String CREATE_PARTITIONED_TABLE = "create table if not exists book_order_history (" + COLUMNS + ", primary key (id, start_date)) partition by range (start_date)";
+
+    private static final String CREATE_TABLE = "create table if not exists book_order_history (" + COLUMNS + ", primary key (id))";
+
+    private static final String CREATE_USER_INDEX = "create index if not exists book_order_history_user_id_idx on book_order_history (user_id, id)";
+
+    private static final String CREATE_START_DATE_INDEX = "create index if not exists book_order_history_start_date_idx on book_order_history (start_date, id)";
+
+    private static final String CREATE_PARTITION = "create table if not exists book_order_history_%s partition of book_order_history for values from ('%s') to ('%s')";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean partitioned;
+
+    @Autowired
+    public BookOrderHistorySchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String databaseProductName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData()
+                .getDatabaseProductName());
+        partitioned = POSTGRESQL.equals(databaseProductName);
+        jdbcTemplate.execute(partitioned ? CREATE_PARTITIONED_TABLE : CREATE_TABLE);
+        jdbcTemplate.execute(CREATE_USER_INDEX);
+        jdbcTemplate.execute(CREATE_START_DATE_INDEX);
+    }
+
+    public void createPartitions(Collection<YearMonth> months) {
+        if (!partitioned) {
+            return;
+        }
+        for (YearMonth month : months) {
+            YearMonth nextMonth = month.plusMonths(1);
+            jdbcTemplate.execute(String.format(CREATE_PARTITION, month.format(PARTITION_SUFFIX_FORMATTER), month.atDay(1), nextMonth.atDay(1)));
+        }
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+}
@@ -0,0 +1,86 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class BookOrderOverdueScanner {
+
+    private static final Comparator<BookOrderView> BY_END_DATE = Comparator.comparing(BookOrderView::endDate)
+            .thenComparing(BookOrderView::id);
+
+    private final BookOrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Integer, BookOrderView> overdueOrdersById = new HashMap<>();
+
+    private LocalDate scannedUntil;
+
+    @Autowired
+    public BookOrderOverdueScanner(BookOrderRepository orderRepository, ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${order-overdue.scan-interval:PT1H}")
+    public synchronized void scan() {
+        LocalDate currentDate = LocalDate.now();
+        if (currentDate.equals(scannedUntil)) {
+            return;
+        }
+
+        List<BookOrderView> newlyOverdueOrders = scannedUntil == null
+                ? orderRepository.findViewsByStateAndEndDateBefore(OrderState.BOOK_TAKEN, currentDate)
+                : orderRepository.findViewsByStateAndEndDateBetween(OrderState.BOOK_TAKEN, scannedUntil, currentDate);
+        newlyOverdueOrders.forEach(order -> overdueOrdersById.put(order.id(), order));
+        scannedUntil = currentDate;
+
+        if (!newlyOverdueOrders.isEmpty()) {
+            eventPublisher.publishEvent(new BookOrdersOverdueEvent(newlyOverdueOrders));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOrderStateChanged(BookOrderStateChangedEvent event) {
+        Integer orderId = event.getOrderId();
+        OrderState newState = event.getNewState();
+        if (newState == OrderState.BOOK_RETURNED) {
+            overdueOrdersById.remove(orderId);
+            return;
+        }
+
+        LocalDate endDate = event.getEndDate();
+        if (newState == OrderState.BOOK_TAKEN && scannedUntil != null && endDate.isBefore(scannedUntil)) {
+            orderRepository.findViewById(orderId)
+                    .ifPresent(order -> {
+                        overdueOrdersById.put(orderId, order);
+                        eventPublisher.publishEvent(new BookOrdersOverdueEvent(List.of(order)));
+                    });
+        }
+    }
+
+    public synchronized List<BookOrderView> getOverdueOrders() {
+        return overdueOrdersById.values()
+                .stream()
+                .sorted(BY_END_DATE)
+                .toList();
+    }
+
+    public synchronized List<BookOrderView> getOverdueOrdersOfUser(Integer userId) {
+        return overdueOrdersById.values()
+                .stream()
+                .filter(order -> Objects.equals(order.user().id(), userId))
+                .sorted(BY_END_DATE)
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.exception.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+public class BookOrderQueueCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final LocalDate lastStartDate;
+
+    private final Integer lastId;
+
+    public BookOrderQueueCursor(LocalDate lastStartDate, Integer lastId) {
+        this.lastStartDate = lastStartDate;
+        this.lastId = lastId;
+    }
+
+    public static BookOrderQueueCursor after(BookOrderView lastOrder) {
+        return new BookOrderQueueCursor(lastOrder.startDate(), lastOrder.id());
+    }
+
+    public static BookOrderQueueCursor decode(String token) throws ServiceException {
+        try {
+            String decodedToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decodedToken.split(SEPARATOR, 2);
+            LocalDate lastStartDate = LocalDate.parse(parts[0]);
+            Integer lastId = Integer.valueOf(parts[1]);
+            return new BookOrderQueueCursor(lastStartDate, lastId);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ServiceException("Invalid order queue cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String rawToken = lastStartDate + SEPARATOR + lastId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(rawToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getLastStartDate() {
+        return lastStartDate;
+    }
+
+    public Integer getLastId() {
+        return lastId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderQueueCursor that = (BookOrderQueueCursor) o;
+        return Objects.equals(lastStartDate, that.lastStartDate) && Objects.equals(lastId, that.lastId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(lastStartDate);
+        result = 31 * result + Objects.hashCode(lastId);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderQueueCursor{" +
+                "lastStartDate=" + lastStartDate +
+                ", lastId=" + lastId +
+                '}';
+    }
+}
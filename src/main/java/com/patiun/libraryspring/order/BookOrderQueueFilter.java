@@ -0,0 +1,119 @@
+package com.patiun.libraryspring.order;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class BookOrderQueueFilter {
+
+    private OrderState state;
+
+    private RentalType rentalType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateTo;
+
+    private Integer userId;
+
+    private Integer bookId;
+
+    public BookOrderQueueFilter() {
+    }
+
+    public BookOrderQueueFilter(OrderState state, RentalType rentalType, LocalDate startDateFrom, LocalDate startDateTo, Integer userId, Integer bookId) {
+        this.state = state;
+        this.rentalType = rentalType;
+        this.startDateFrom = startDateFrom;
+        this.startDateTo = startDateTo;
+        this.userId = userId;
+        this.bookId = bookId;
+    }
+
+    public OrderState getState() {
+        return state;
+    }
+
+    public void setState(OrderState state) {
+        this.state = state;
+    }
+
+    public RentalType getRentalType() {
+        return rentalType;
+    }
+
+    public void setRentalType(RentalType rentalType) {
+        this.rentalType = rentalType;
+    }
+
+    public LocalDate getStartDateFrom() {
+        return startDateFrom;
+    }
+
+    public void setStartDateFrom(LocalDate startDateFrom) {
+        this.startDateFrom = startDateFrom;
+    }
+
+    public LocalDate getStartDateTo() {
+        return startDateTo;
+    }
+
+    public void setStartDateTo(LocalDate startDateTo) {
+        this.startDateTo = startDateTo;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public Integer getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Integer bookId) {
+        this.bookId = bookId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderQueueFilter that = (BookOrderQueueFilter) o;
+        return state == that.state && rentalType == that.rentalType && Objects.equals(startDateFrom, that.startDateFrom) && Objects.equals(startDateTo, that.startDateTo) && Objects.equals(userId, that.userId) && Objects.equals(bookId, that.bookId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(state);
+        result = 31 * result + Objects.hashCode(rentalType);
+        result = 31 * result + Objects.hashCode(startDateFrom);
+        result = 31 * result + Objects.hashCode(startDateTo);
+        result = 31 * result + Objects.hashCode(userId);
+        result = 31 * result + Objects.hashCode(bookId);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderQueueFilter{" +
+                "state=" + state +
+                ", rentalType=" + rentalType +
+                ", startDateFrom=" + startDateFrom +
+                ", startDateTo=" + startDateTo +
+                ", userId=" + userId +
+                ", bookId=" + bookId +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.patiun.libraryspring.order;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BookOrderQueuePage {
+
+    private List<BookOrderView> orders;
+
+    private String nextCursor;
+
+    public BookOrderQueuePage() {
+    }
+
+    public BookOrderQueuePage(List<BookOrderView> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookOrderView> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<BookOrderView> orders) {
+        this.orders = orders;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderQueuePage that = (BookOrderQueuePage) o;
+        return Objects.equals(orders, that.orders) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(orders);
+        result = 31 * result + Objects.hashCode(nextCursor);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderQueuePage{" +
+                "orders=" + orders +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.Book;
+import com.patiun.libraryspring.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class BookOrderQueueQuery {
+
+    private BookOrderQueueQuery() {
+    }
+
+    static List<BookOrderView> findPage(EntityManager entityManager, Class<?> orderClass, BookOrderQueueFilter filter, BookOrderQueueCursor after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookOrderView> query = builder.createQuery(BookOrderView.class);
+        Root<?> order = query.from(orderClass);
+        Join<?, Book> book = order.join("book");
+        Join<?, User> user = order.join("user");
+
+        Path<Integer> id = order.get("id");
+        Path<LocalDate> startDate = order.get("startDate");
+
+        List<Predicate> predicates = toFilterPredicates(builder, order, startDate, filter);
+        if (after != null) {
+            LocalDate lastStartDate = after.getLastStartDate();
+            predicates.add(builder.or(
+                    builder.greaterThan(startDate, lastStartDate),
+                    builder.and(builder.equal(startDate, lastStartDate), builder.greaterThan(id, after.getLastId()))
+            ));
+        }
+
+        query.select(builder.construct(BookOrderView.class,
+                        id, book.get("id"), book.get("title"), book.get("version"),
+                        user.get("id"), user.get("login"), user.get("firstName"), user.get("lastName"),
+                        order.get("rentalType"), startDate, order.get("endDate"), order.get("returnDate"), order.get("state"), order.get("version")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.asc(startDate), builder.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> toFilterPredicates(CriteriaBuilder builder, Root<?> order, Path<LocalDate> startDate, BookOrderQueueFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+
+        OrderState state = filter.getState();
+        if (state != null) {
+            predicates.add(builder.equal(order.get("state"), state));
+        }
+        RentalType rentalType = filter.getRentalType();
+        if (rentalType != null) {
+            predicates.add(builder.equal(order.get("rentalType"), rentalType));
+        }
+        LocalDate startDateFrom = filter.getStartDateFrom();
+        if (startDateFrom != null) {
+            predicates.add(builder.greaterThanOrEqualTo(startDate, startDateFrom));
+        }
+        LocalDate startDateTo = filter.getStartDateTo();
+        if (startDateTo != null) {
+            predicates.add(builder.lessThanOrEqualTo(startDate, startDateTo));
+        }
+        Integer userId = filter.getUserId();
+        if (userId != null) {
+            predicates.add(builder.equal(order.get("user").get("id"), userId));
+        }
+        Integer bookId = filter.getBookId();
+        if (bookId != null) {
+            predicates.add(builder.equal(order.get("book").get("id"), bookId));
+        }
+        return predicates;
+    }
+}
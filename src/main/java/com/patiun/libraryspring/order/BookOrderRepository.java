@@ -1,12 +1,49 @@
 package com.patiun.libraryspring.order;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookOrderRepository extends ListCrudRepository<BookOrder, Integer> {
+public interface BookOrderRepository extends ListCrudRepository<BookOrder, Integer>, BookOrderRepositoryCustom {
 
+    String VIEW_QUERY = "select new com.patiun.libraryspring.order.BookOrderView(o.id, b.id, b.title, b.version, u.id, u.login, u.firstName, u.lastName, o.rentalType, o.startDate, o.endDate, o.returnDate, o.state, o.version) from BookOrder o join o.book b join o.user u";
+
+    @Override
+    @EntityGraph(BookOrder.DETAILS_GRAPH)
+    Optional<BookOrder> findById(Integer id);
+
+    @Override
+    @EntityGraph(BookOrder.DETAILS_GRAPH)
+    List<BookOrder> findAll();
+
+    @EntityGraph(BookOrder.DETAILS_GRAPH)
     List<BookOrder> findByUserId(Integer id);
+
+    @EntityGraph(BookOrder.DETAILS_GRAPH)
+    List<BookOrder> findByIdIn(Collection<Integer> ids);
+
+    @Query(VIEW_QUERY + " order by o.id")
+    List<BookOrderView> findAllViews();
+
+    @Query(VIEW_QUERY + " where u.id = :userId order by o.id")
+    List<BookOrderView> findViewsByUserId(Integer userId);
+
+    @Query(VIEW_QUERY + " where o.state = :state and o.endDate < :endDateBefore order by o.endDate, o.id")
+    List<BookOrderView> findViewsByStateAndEndDateBefore(OrderState state, LocalDate endDateBefore);
+
+    @Query(VIEW_QUERY + " where o.state = :state and o.endDate >= :endDateFrom and o.endDate < :endDateBefore order by o.endDate, o.id")
+    List<BookOrderView> findViewsByStateAndEndDateBetween(OrderState state, LocalDate endDateFrom, LocalDate endDateBefore);
+
+    @Query(VIEW_QUERY + " where o.id = :id")
+    Optional<BookOrderView> findViewById(Integer id);
+
+    @Query("select new com.patiun.libraryspring.order.BookOrderVersion(u.id, o.version, b.version) from BookOrder o join o.book b join o.user u where o.id = :id")
+    Optional<BookOrderVersion> findVersionById(Integer id);
 }
@@ -1,10 +1,14 @@
 package com.patiun.libraryspring.order;
 
+import com.patiun.libraryspring.configuration.ETags;
 import com.patiun.libraryspring.exception.ServiceException;
 import com.patiun.libraryspring.user.User;
 import com.patiun.libraryspring.user.UserRole;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,10 +20,12 @@ import java.util.Objects;
 public class BookOrderRestController {
 
     private final BookOrderService orderService;
+    private final BookOrderOverdueScanner overdueScanner;
 
     @Autowired
-    public BookOrderRestController(BookOrderService orderService) {
+    public BookOrderRestController(BookOrderService orderService, BookOrderOverdueScanner overdueScanner) {
         this.orderService = orderService;
+        this.overdueScanner = overdueScanner;
     }
 
     @PostMapping("{bookId}")
@@ -33,14 +39,30 @@ public class BookOrderRestController {
     }
 
     @GetMapping
-    public List<BookOrder> readAllOrders(final Authentication authentication) {
-        List<BookOrder> orders;
+    public BookOrderQueuePage readAllOrders(@RequestParam(defaultValue = "false") boolean includeHistory, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, final Authentication authentication) throws ServiceException {
+        BookOrderQueueFilter filter = new BookOrderQueueFilter();
+        restrictToViewableOrders(filter, authentication);
+        if (includeHistory) {
+            return orderService.getOrderQueuePageIncludingHistory(filter, cursor, size);
+        }
+        return orderService.getOrderQueuePage(filter, cursor, size);
+    }
+
+    @GetMapping("queue")
+    public BookOrderQueuePage readOrderQueuePage(BookOrderQueueFilter filter, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, final Authentication authentication) throws ServiceException {
+        restrictToViewableOrders(filter, authentication);
+        return orderService.getOrderQueuePage(filter, cursor, size);
+    }
+
+    @GetMapping("overdue")
+    public List<BookOrderView> readOverdueOrders(final Authentication authentication) {
+        List<BookOrderView> orders;
         User currentUser = (User) authentication.getPrincipal();
         switch (currentUser.getRole()) {
-            case LIBRARIAN -> orders = orderService.getAllOrders();
+            case LIBRARIAN -> orders = overdueScanner.getOverdueOrders();
             case READER -> {
                 Integer readerId = currentUser.getId();
-                orders = orderService.getOrdersOfUser(readerId);
+                orders = overdueScanner.getOverdueOrdersOfUser(readerId);
             }
             default -> throw new UnsupportedOperationException("Users of your role are not allowed to view orders!");
         }
@@ -48,18 +70,37 @@ public class BookOrderRestController {
     }
 
     @GetMapping("{id}")
-    public BookOrder readOrder(@PathVariable Integer id, final Authentication authentication) {
-        BookOrder targetOrder = orderService.getOrderById(id);
-        User targetOrderUser = targetOrder.getUser();
-        Integer targetOrderUserId = targetOrderUser.getId();
+    public ResponseEntity<BookOrderView> readOrder(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, final Authentication authentication) {
+        if (ifNoneMatch != null) {
+            BookOrderVersion currentVersion = orderService.getOrderVersionById(id);
+            checkOrderAccess(currentVersion.userId(), authentication);
 
-        User currentUser = (User) authentication.getPrincipal();
-        Integer currentUserId = currentUser.getId();
-        UserRole currentUserRole = currentUser.getRole();
-        if (!(currentUserRole == UserRole.READER && Objects.equals(targetOrderUserId, currentUserId) || currentUserRole == UserRole.LIBRARIAN)) {
-            throw new UnsupportedOperationException("You do not have sufficient privileges to view this order");
+            String currentETag = ETags.of(id, currentVersion.orderVersion(), currentVersion.bookVersion());
+            if (ETags.matches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(currentETag)
+                        .build();
+            }
         }
-        return targetOrder;
+        BookOrderView targetOrder = orderService.getOrderById(id);
+        Integer targetOrderUserId = targetOrder.user()
+                .id();
+        checkOrderAccess(targetOrderUserId, authentication);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(id, targetOrder.version(), targetOrder.book().version()))
+                .body(targetOrder);
+    }
+
+    @PatchMapping("batch")
+    public List<BookOrderTransitionResult> advanceOrders(@RequestBody List<BookOrderTransitionDto> transitionDtos) throws ServiceException {
+        List<BookOrderTransition> transitions = transitionDtos.stream()
+                .map(transitionDto -> {
+                    BookOrderAction action = transitionDto.getAction();
+                    OrderState newState = action != null ? action.getTargetState() : null;
+                    return new BookOrderTransition(transitionDto.getId(), newState);
+                })
+                .toList();
+        return orderService.advanceOrders(transitions);
     }
 
     @PatchMapping("{id}/approve")
@@ -81,5 +122,24 @@ public class BookOrderRestController {
     public void returnOrder(@PathVariable Integer id) throws ServiceException {
         orderService.returnOrderById(id);
     }
+
+    private void restrictToViewableOrders(BookOrderQueueFilter filter, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        UserRole currentUserRole = currentUser.getRole();
+        if (currentUserRole == UserRole.READER) {
+            filter.setUserId(currentUser.getId());
+        } else if (currentUserRole != UserRole.LIBRARIAN) {
+            throw new UnsupportedOperationException("Users of your role are not allowed to view orders!");
+        }
+    }
+
+    private void checkOrderAccess(Integer orderUserId, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        Integer currentUserId = currentUser.getId();
+        UserRole currentUserRole = currentUser.getRole();
+        if (!(currentUserRole == UserRole.READER && Objects.equals(orderUserId, currentUserId) || currentUserRole == UserRole.LIBRARIAN)) {
+            throw new UnsupportedOperationException("You do not have sufficient privileges to view this order");
+        }
+    }
     
 }
@@ -8,11 +8,17 @@ public interface BookOrderService {
 
     void createOrder(Integer bookId, Integer userId, RentalType type, Integer days) throws ServiceException;
 
-    List<BookOrder> getAllOrders();
+    List<BookOrderView> getAllOrders();
 
-    List<BookOrder> getOrdersOfUser(Integer userId);
+    List<BookOrderView> getOrdersOfUser(Integer userId);
 
-    BookOrder getOrderById(Integer id);
+    BookOrderQueuePage getOrderQueuePage(BookOrderQueueFilter filter, String cursor, Integer pageSize) throws ServiceException;
+
+    BookOrderQueuePage getOrderQueuePageIncludingHistory(BookOrderQueueFilter filter, String cursor, Integer pageSize) throws ServiceException;
+
+    BookOrderView getOrderById(Integer id);
+
+    BookOrderVersion getOrderVersionById(Integer id);
 
     void approveOrderById(Integer id) throws ServiceException;
 
@@ -21,4 +27,6 @@ public interface BookOrderService {
     void collectOrderById(Integer id) throws ServiceException;
 
     void returnOrderById(Integer id) throws ServiceException;
+
+    List<BookOrderTransitionResult> advanceOrders(List<BookOrderTransition> transitions) throws ServiceException;
 }
@@ -2,25 +2,52 @@ package com.patiun.libraryspring.order;
 
 import com.patiun.libraryspring.book.Book;
 import com.patiun.libraryspring.book.BookRepository;
+import com.patiun.libraryspring.exception.ConflictException;
 import com.patiun.libraryspring.exception.ElementNotFoundException;
 import com.patiun.libraryspring.exception.ServiceException;
 import com.patiun.libraryspring.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 @Service
 public class BookOrderServiceImpl implements BookOrderService {
 
+    private static final Comparator<BookOrderView> QUEUE_ORDER = Comparator.comparing(BookOrderView::startDate)
+            .thenComparing(BookOrderView::id);
+
+    @Value("${order-queue.page-size.default:20}")
+    private int defaultQueuePageSize;
+
+    @Value("${order-queue.page-size.max:100}")
+    private int maxQueuePageSize;
+
+    @Value("${order-transition.max-attempts:3}")
+    private int transitionMaxAttempts;
+
+    @Value("${order-transition.backoff-millis:20}")
+    private long transitionBackoffMillis;
+
     private final BookOrderRepository orderRepository;
+    private final BookOrderHistoryRepository historyRepository;
     private final BookRepository bookRepository;
+    private final BookHoldRepository holdRepository;
+    private final BookOrderStateMachine stateMachine;
 
     @Autowired
-    public BookOrderServiceImpl(BookOrderRepository orderRepository, BookRepository bookRepository) {
+    public BookOrderServiceImpl(BookOrderRepository orderRepository, BookOrderHistoryRepository historyRepository, BookRepository bookRepository, BookHoldRepository holdRepository, BookOrderStateMachine stateMachine) {
         this.orderRepository = orderRepository;
+        this.historyRepository = historyRepository;
         this.bookRepository = bookRepository;
+        this.holdRepository = holdRepository;
+        this.stateMachine = stateMachine;
     }
 
     @Override
@@ -33,28 +60,64 @@ public class BookOrderServiceImpl implements BookOrderService {
         if (orderedBook.isDeleted() || orderedBook.getAmount() <= 0) {
             throw new ServiceException("Could not place an order on book by id = " + bookId + ": the book's either deleted or not in stock");
         }
+        if (holdRepository.existsByBookId(bookId)) {
+            throw new ServiceException("Could not place an order on book by id = " + bookId + ": other readers are waiting for it, place a hold instead");
+        }
 
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(days);
 
         BookOrder newOrder = new BookOrder(null, orderedBook, orderingUser, type, startDate, endDate, null, OrderState.PLACED);
 
-        orderRepository.save(newOrder);
+        stateMachine.place(newOrder);
+    }
+
+    @Override
+    public List<BookOrderView> getAllOrders() {
+        return orderRepository.findAllViews();
+    }
+
+    @Override
+    public List<BookOrderView> getOrdersOfUser(Integer userId) {
+        return orderRepository.findViewsByUserId(userId);
     }
 
     @Override
-    public List<BookOrder> getAllOrders() {
-        return orderRepository.findAll();
+    public BookOrderQueuePage getOrderQueuePage(BookOrderQueueFilter filter, String cursor, Integer pageSize) throws ServiceException {
+        int limit = resolveQueuePageSize(pageSize);
+        BookOrderQueueCursor after = decodeQueueCursor(cursor);
+
+        List<BookOrderView> orders = orderRepository.findQueuePage(filter, after, limit + 1);
+        return toQueuePage(orders, limit);
     }
 
     @Override
-    public List<BookOrder> getOrdersOfUser(Integer userId) {
-        return orderRepository.findByUserId(userId);
+    public BookOrderQueuePage getOrderQueuePageIncludingHistory(BookOrderQueueFilter filter, String cursor, Integer pageSize) throws ServiceException {
+        int limit = resolveQueuePageSize(pageSize);
+        BookOrderQueueCursor after = decodeQueueCursor(cursor);
+
+        List<BookOrderView> liveOrders = orderRepository.findQueuePage(filter, after, limit + 1);
+        List<BookOrderView> archivedOrders = historyRepository.findQueuePage(filter, after, limit + 1);
+        List<BookOrderView> orders = Stream.concat(liveOrders.stream(), archivedOrders.stream())
+                .distinct()
+                .sorted(QUEUE_ORDER)
+                .limit(limit + 1L)
+                .toList();
+        return toQueuePage(orders, limit);
     }
 
     @Override
-    public BookOrder getOrderById(Integer id) {
-        return getExistingOrderById(id);
+    public BookOrderView getOrderById(Integer id) {
+        return orderRepository.findViewById(id)
+                .or(() -> historyRepository.findViewById(id))
+                .orElseThrow(() -> new ElementNotFoundException("Could not find an order by id = " + id));
+    }
+
+    @Override
+    public BookOrderVersion getOrderVersionById(Integer id) {
+        return orderRepository.findVersionById(id)
+                .or(() -> historyRepository.findVersionById(id))
+                .orElseThrow(() -> new ElementNotFoundException("Could not find an order by id = " + id));
     }
 
     @Override
@@ -77,45 +140,72 @@ public class BookOrderServiceImpl implements BookOrderService {
         advanceOrderStateById(id, OrderState.BOOK_RETURNED);
     }
 
-    private void advanceOrderStateById(Integer id, OrderState newState) throws ServiceException {
-        BookOrder targetOrder = getExistingOrderById(id);
-        Book targetOrderBook = targetOrder.getBook();
-        int targetOrderBookAmount = targetOrderBook.getAmount();
+    @Override
+    public List<BookOrderTransitionResult> advanceOrders(List<BookOrderTransition> transitions) throws ServiceException {
+        return withRetries("the orders of the batch", () -> stateMachine.advanceAll(transitions));
+    }
 
-        OrderState currentState = targetOrder.getState();
-        if (currentState == OrderState.DECLINED || currentState == OrderState.BOOK_RETURNED) {
-            throw new ServiceException("Cannot change the state of order by id = " + id + " from " + currentState + " to " + newState + ": the order has already reaches the end of its lifecycle");
+    private BookOrderQueueCursor decodeQueueCursor(String cursor) throws ServiceException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
         }
-        if (currentState.compareTo(newState) >= 0) {
-            throw new ServiceException("Cannot change the state of order by id = " + id + " from " + currentState + " to " + newState + ": that would regress its state");
-        }
-        if (newState == OrderState.DECLINED && currentState == OrderState.APPROVED) {
-            throw new ServiceException("Cannot decline the approved order by id = " + id);
+        return BookOrderQueueCursor.decode(cursor);
+    }
+
+    private BookOrderQueuePage toQueuePage(List<BookOrderView> orders, int limit) {
+        if (orders.size() <= limit) {
+            return new BookOrderQueuePage(orders, null);
         }
-        if (newState == OrderState.BOOK_RETURNED && currentState != OrderState.BOOK_TAKEN) {
-            throw new ServiceException("Cannot change the state of the order by id = " + id + ": The book has not been taken yet, it cannot yet be returned");
+
+        List<BookOrderView> pageOrders = orders.subList(0, limit);
+        String nextCursor = BookOrderQueueCursor.after(pageOrders.get(limit - 1))
+                .encode();
+        return new BookOrderQueuePage(pageOrders, nextCursor);
+    }
+
+    private int resolveQueuePageSize(Integer pageSize) throws ServiceException {
+        if (pageSize == null) {
+            return Math.min(defaultQueuePageSize, maxQueuePageSize);
         }
-        if (newState == OrderState.APPROVED && targetOrderBookAmount <= 0) {
-            throw new ServiceException("Cannot approve the order by id = " + id + ": The book is not in stock");
+        if (pageSize < 1) {
+            throw new ServiceException("Page size must be at least 1");
         }
+        return Math.min(pageSize, maxQueuePageSize);
+    }
+
+    private void advanceOrderStateById(Integer id, OrderState newState) throws ServiceException {
+        withRetries("order by id = " + id, () -> {
+            stateMachine.advance(id, newState);
+            return null;
+        });
+    }
 
-        if (newState == OrderState.BOOK_RETURNED) {
-            LocalDate currentDate = LocalDate.now();
-            targetOrder.setReturnDate(currentDate);
-            targetOrderBook.setAmount(targetOrderBookAmount + 1);
-            bookRepository.save(targetOrderBook);
-        } else if (newState == OrderState.APPROVED) {
-            targetOrderBook.setAmount(targetOrderBookAmount - 1);
-            bookRepository.save(targetOrderBook);
+    private <T> T withRetries(String target, Transition<T> transition) throws ServiceException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transition.run();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= transitionMaxAttempts) {
+                    throw new ConflictException("Could not change the state of " + target + ": it kept being changed concurrently", e);
+                }
+                backOff(attempt);
+            }
         }
+    }
 
-        targetOrder.setState(newState);
-        orderRepository.save(targetOrder);
+    private void backOff(int attempt) {
+        long maxDelayMillis = transitionBackoffMillis << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelayMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting to retry an order state change", e);
+        }
     }
 
-    private BookOrder getExistingOrderById(Integer id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new ElementNotFoundException("Could not find an order by id = " + id));
+    private interface Transition<T> {
+
+        T run() throws ServiceException;
     }
 
 }
@@ -0,0 +1,104 @@
+package com.patiun.libraryspring.order;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class BookOrderStateChangedEvent {
+
+    private final Integer orderId;
+
+    private final Integer bookId;
+
+    private final RentalType rentalType;
+
+    private final OrderState previousState;
+
+    private final OrderState newState;
+
+    private final LocalDate endDate;
+
+    private final LocalDateTime occurredAt;
+
+    public BookOrderStateChangedEvent(Integer orderId, Integer bookId, RentalType rentalType, OrderState previousState, OrderState newState, LocalDate endDate, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.bookId = bookId;
+        this.rentalType = rentalType;
+        this.previousState = previousState;
+        this.newState = newState;
+        this.endDate = endDate;
+        this.occurredAt = occurredAt;
+    }
+
+    public static BookOrderStateChangedEvent of(BookOrder order, OrderState previousState) {
+        Integer bookId = order.getBook()
+                .getId();
+        return new BookOrderStateChangedEvent(order.getId(), bookId, order.getRentalType(), previousState, order.getState(), order.getEndDate(), LocalDateTime.now());
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public Integer getBookId() {
+        return bookId;
+    }
+
+    public RentalType getRentalType() {
+        return rentalType;
+    }
+
+    public OrderState getPreviousState() {
+        return previousState;
+    }
+
+    public OrderState getNewState() {
+        return newState;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderStateChangedEvent that = (BookOrderStateChangedEvent) o;
+        return Objects.equals(orderId, that.orderId) && Objects.equals(bookId, that.bookId) && rentalType == that.rentalType && previousState == that.previousState && newState == that.newState && Objects.equals(endDate, that.endDate) && Objects.equals(occurredAt, that.occurredAt);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(orderId);
+        result = 31 * result + Objects.hashCode(bookId);
+        result = 31 * result + Objects.hashCode(rentalType);
+        result = 31 * result + Objects.hashCode(previousState);
+        result = 31 * result + Objects.hashCode(newState);
+        result = 31 * result + Objects.hashCode(endDate);
+        result = 31 * result + Objects.hashCode(occurredAt);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderStateChangedEvent{" +
+                "orderId=" + orderId +
+                ", bookId=" + bookId +
+                ", rentalType=" + rentalType +
+                ", previousState=" + previousState +
+                ", newState=" + newState +
+                ", endDate=" + endDate +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,226 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.BookChangeType;
+import com.patiun.libraryspring.book.BookChangedEvent;
+import com.patiun.libraryspring.book.BookRepository;
+import com.patiun.libraryspring.exception.ElementNotFoundException;
+import com.patiun.libraryspring.exception.ServiceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class BookOrderStateMachine {
+
+    private final BookOrderRepository orderRepository;
+    private final BookRepository bookRepository;
+    private final BookHoldRepository holdRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BookOrderStateMachine(BookOrderRepository orderRepository, BookRepository bookRepository, BookHoldRepository holdRepository, ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.bookRepository = bookRepository;
+        this.holdRepository = holdRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void place(BookOrder newOrder) {
+        orderRepository.save(newOrder);
+        eventPublisher.publishEvent(BookOrderStateChangedEvent.of(newOrder, null));
+    }
+
+    @Transactional(rollbackFor = ServiceException.class)
+    public void advance(Integer id, OrderState newState) throws ServiceException {
+        BookOrder targetOrder = getExistingOrderById(id);
+        Integer targetOrderBookId = targetOrder.getBook()
+                .getId();
+        OrderState previousState = targetOrder.getState();
+
+        checkTransition(targetOrder, newState);
+
+        if (newState == OrderState.APPROVED) {
+            int reservedCopies = bookRepository.decrementAmountById(targetOrderBookId);
+            if (reservedCopies == 0) {
+                throw new ServiceException("Cannot approve the order by id = " + id + ": The book is not in stock");
+            }
+        } else if (newState == OrderState.BOOK_RETURNED) {
+            LocalDate currentDate = LocalDate.now();
+            targetOrder.setReturnDate(currentDate);
+            bookRepository.incrementAmountById(targetOrderBookId);
+            promoteHolds(targetOrderBookId);
+        }
+
+        targetOrder.setState(newState);
+        orderRepository.save(targetOrder);
+        eventPublisher.publishEvent(BookOrderStateChangedEvent.of(targetOrder, previousState));
+
+        if (newState == OrderState.BOOK_RETURNED || newState == OrderState.APPROVED) {
+            eventPublisher.publishEvent(new BookChangedEvent(targetOrderBookId, BookChangeType.STOCK_CHANGED));
+        }
+    }
+
+    @Transactional
+    public List<BookOrderTransitionResult> advanceAll(List<BookOrderTransition> transitions) {
+        Set<Integer> orderIds = transitions.stream()
+                .map(BookOrderTransition::orderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, BookOrder> ordersById = orderRepository.findByIdIn(orderIds)
+                .stream()
+                .collect(Collectors.toMap(BookOrder::getId, Function.identity()));
+
+        Map<BookOrderTransition, BookOrderTransitionResult> results = new IdentityHashMap<>();
+        Map<Integer, List<BookOrderTransition>> approvalsByBookId = new LinkedHashMap<>();
+        Map<Integer, Integer> returnsByBookId = new HashMap<>();
+        Map<Integer, OrderState> previousStatesById = new HashMap<>();
+        Set<Integer> transitionedOrderIds = new HashSet<>();
+        for (BookOrderTransition transition : transitions) {
+            Integer id = transition.orderId();
+            OrderState newState = transition.newState();
+            BookOrder targetOrder = ordersById.get(id);
+            if (newState == null) {
+                results.put(transition, BookOrderTransitionResult.failed(id, "Missing action for the order by id = " + id));
+                continue;
+            }
+            if (targetOrder == null) {
+                results.put(transition, BookOrderTransitionResult.failed(id, "Could not find an order by id = " + id));
+                continue;
+            }
+            if (!transitionedOrderIds.add(id)) {
+                results.put(transition, BookOrderTransitionResult.failed(id, "The order by id = " + id + " appears more than once in the batch"));
+                continue;
+            }
+            try {
+                checkTransition(targetOrder, newState);
+            } catch (ServiceException e) {
+                results.put(transition, BookOrderTransitionResult.failed(id, e.getMessage()));
+                continue;
+            }
+            previousStatesById.put(id, targetOrder.getState());
+
+            Integer bookId = targetOrder.getBook()
+                    .getId();
+            if (newState == OrderState.APPROVED) {
+                approvalsByBookId.computeIfAbsent(bookId, key -> new ArrayList<>())
+                        .add(transition);
+                continue;
+            }
+            if (newState == OrderState.BOOK_RETURNED) {
+                targetOrder.setReturnDate(LocalDate.now());
+                returnsByBookId.merge(bookId, 1, Integer::sum);
+            }
+            targetOrder.setState(newState);
+            results.put(transition, BookOrderTransitionResult.succeeded(id, newState));
+        }
+
+        approvalsByBookId.forEach((bookId, approvals) -> {
+            int reservedCopies = reserveCopies(bookId, approvals.size());
+            for (int i = 0; i < approvals.size(); i++) {
+                BookOrderTransition approval = approvals.get(i);
+                Integer id = approval.orderId();
+                if (i < reservedCopies) {
+                    ordersById.get(id)
+                            .setState(OrderState.APPROVED);
+                    results.put(approval, BookOrderTransitionResult.succeeded(id, OrderState.APPROVED));
+                } else {
+                    results.put(approval, BookOrderTransitionResult.failed(id, "Cannot approve the order by id = " + id + ": The book is not in stock"));
+                }
+            }
+        });
+        returnsByBookId.forEach((bookId, returnedCopies) -> {
+            bookRepository.increaseAmountById(bookId, returnedCopies);
+            promoteHolds(bookId);
+        });
+
+        Stream.concat(approvalsByBookId.keySet().stream(), returnsByBookId.keySet().stream())
+                .distinct()
+                .forEach(bookId -> eventPublisher.publishEvent(new BookChangedEvent(bookId, BookChangeType.STOCK_CHANGED)));
+
+        List<BookOrderTransitionResult> orderedResults = transitions.stream()
+                .map(results::get)
+                .toList();
+        orderedResults.stream()
+                .filter(result -> result.error() == null)
+                .forEach(result -> {
+                    Integer id = result.id();
+                    eventPublisher.publishEvent(BookOrderStateChangedEvent.of(ordersById.get(id), previousStatesById.get(id)));
+                });
+        return orderedResults;
+    }
+
+    @EventListener
+    @Transactional
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getChangeType() == BookChangeType.UPDATED) {
+            promoteHolds(event.getBookId());
+        }
+    }
+
+    private void promoteHolds(Integer bookId) {
+        int copiesInStock = bookRepository.findAmountById(bookId)
+                .orElse(0);
+        if (copiesInStock <= 0) {
+            return;
+        }
+        List<BookHold> nextHolds = holdRepository.findByBookIdOrderById(bookId, PageRequest.ofSize(copiesInStock));
+        if (nextHolds.isEmpty()) {
+            return;
+        }
+        bookRepository.decreaseAmountById(bookId, nextHolds.size());
+
+        LocalDate startDate = LocalDate.now();
+        for (BookHold hold : nextHolds) {
+            LocalDate endDate = startDate.plusDays(hold.getDays());
+            BookOrder promotedOrder = new BookOrder(null, hold.getBook(), hold.getUser(), hold.getRentalType(), startDate, endDate, null, OrderState.APPROVED);
+            orderRepository.save(promotedOrder);
+            holdRepository.delete(hold);
+            eventPublisher.publishEvent(BookOrderStateChangedEvent.of(promotedOrder, null));
+        }
+    }
+
+    private int reserveCopies(Integer bookId, int requestedCopies) {
+        int copiesToReserve = requestedCopies;
+        while (copiesToReserve > 0) {
+            if (bookRepository.decreaseAmountById(bookId, copiesToReserve) > 0) {
+                return copiesToReserve;
+            }
+            int copiesInStock = bookRepository.findAmountById(bookId)
+                    .orElse(0);
+            copiesToReserve = Math.min(copiesToReserve - 1, copiesInStock);
+        }
+        return 0;
+    }
+
+    private void checkTransition(BookOrder targetOrder, OrderState newState) throws ServiceException {
+        Integer id = targetOrder.getId();
+        OrderState currentState = targetOrder.getState();
+        if (currentState == OrderState.DECLINED || currentState == OrderState.BOOK_RETURNED) {
+            throw new ServiceException("Cannot change the state of order by id = " + id + " from " + currentState + " to " + newState + ": the order has already reaches the end of its lifecycle");
+        }
+        if (currentState.compareTo(newState) >= 0) {
+            throw new ServiceException("Cannot change the state of order by id = " + id + " from " + currentState + " to " + newState + ": that would regress its state");
+        }
+        if (newState == OrderState.DECLINED && currentState == OrderState.APPROVED) {
+            throw new ServiceException("Cannot decline the approved order by id = " + id);
+        }
+        if (newState == OrderState.BOOK_RETURNED && currentState != OrderState.BOOK_TAKEN) {
+            throw new ServiceException("Cannot change the state of the order by id = " + id + ": The book has not been taken yet, it cannot yet be returned");
+        }
+    }
+
+    private BookOrder getExistingOrderById(Integer id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new ElementNotFoundException("Could not find an order by id = " + id));
+    }
+}
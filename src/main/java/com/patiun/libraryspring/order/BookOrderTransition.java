@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.order;
+
+public record BookOrderTransition(Integer orderId, OrderState newState) {
+}
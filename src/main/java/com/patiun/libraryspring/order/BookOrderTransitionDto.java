@@ -0,0 +1,62 @@
+package com.patiun.libraryspring.order;
+
+import java.util.Objects;
+
+public class BookOrderTransitionDto {
+
+    private Integer id;
+
+    private BookOrderAction action;
+
+    public BookOrderTransitionDto() {
+    }
+
+    public BookOrderTransitionDto(Integer id, BookOrderAction action) {
+        this.id = id;
+        this.action = action;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public BookOrderAction getAction() {
+        return action;
+    }
+
+    public void setAction(BookOrderAction action) {
+        this.action = action;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrderTransitionDto that = (BookOrderTransitionDto) o;
+        return Objects.equals(id, that.id) && action == that.action;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(action);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrderTransitionDto{" +
+                "id=" + id +
+                ", action=" + action +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.patiun.libraryspring.order;
+
+public record BookOrderTransitionResult(Integer id, OrderState state, String error) {
+
+    public static BookOrderTransitionResult succeeded(Integer id, OrderState state) {
+        return new BookOrderTransitionResult(id, state, null);
+    }
+
+    public static BookOrderTransitionResult failed(Integer id, String error) {
+        return new BookOrderTransitionResult(id, null, error);
+    }
+}
@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.order;
+
+public record BookOrderVersion(Integer userId, int orderVersion, int bookVersion) {
+}
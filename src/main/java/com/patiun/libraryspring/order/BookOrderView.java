@@ -0,0 +1,16 @@
+package com.patiun.libraryspring.order;
+
+import java.time.LocalDate;
+
+public record BookOrderView(Integer id, OrderedBookView book, OrderingUserView user, RentalType rentalType, LocalDate startDate, LocalDate endDate, LocalDate returnDate, OrderState state, int version) {
+
+    public BookOrderView(Integer id, Integer bookId, String bookTitle, int bookVersion, Integer userId, String userLogin, String userFirstName, String userLastName, RentalType rentalType, LocalDate startDate, LocalDate endDate, LocalDate returnDate, OrderState state, int version) {
+        this(id, new OrderedBookView(bookId, bookTitle, bookVersion), new OrderingUserView(userId, userLogin, userFirstName, userLastName), rentalType, startDate, endDate, returnDate, state, version);
+    }
+
+    public record OrderedBookView(Integer id, String title, int version) {
+    }
+
+    public record OrderingUserView(Integer id, String login, String firstName, String lastName) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.patiun.libraryspring.order;
+
+import java.util.List;
+import java.util.Objects;
+
+public class BookOrdersOverdueEvent {
+
+    private final List<BookOrderView> orders;
+
+    public BookOrdersOverdueEvent(List<BookOrderView> orders) {
+        this.orders = orders;
+    }
+
+    public List<BookOrderView> getOrders() {
+        return orders;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BookOrdersOverdueEvent that = (BookOrdersOverdueEvent) o;
+        return Objects.equals(orders, that.orders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(orders);
+    }
+
+    @Override
+    public String toString() {
+        return "BookOrdersOverdueEvent{" +
+                "orders=" + orders +
+                '}';
+    }
+}
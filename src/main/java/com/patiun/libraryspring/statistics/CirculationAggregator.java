@@ -0,0 +1,113 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.order.BookOrderStateChangedEvent;
+import com.patiun.libraryspring.order.OrderState;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Component
+public class CirculationAggregator implements SmartInitializingSingleton {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String POSTGRESQL_INCREMENT = "insert into circulation_daily (id, day, book_id, rental_type, loans) values (nextval('circulation_daily_seq'), :day, :bookId, :rentalType, 1) on conflict (day, book_id, rental_type) do update set loans = circulation_daily.loans + 1";
+
+    private static final String PORTABLE_UPDATE = "update circulation_daily set loans = loans + 1 where day = :day and book_id = :bookId and rental_type = :rentalType";
+
+    private static final String PORTABLE_INSERT = "insert into circulation_daily (id, day, book_id, rental_type, loans) select next value for circulation_daily_seq, cast(:day as date), cast(:bookId as integer), cast(:rentalType as varchar(64)), 1 where not exists (select 1 from circulation_daily where day = :day and book_id = :bookId and rental_type = :rentalType)";
+
+    private static final String PAST_DAILY_LOANS = "select cast(e.occurred_at as date) as day, e.book_id, o.rental_type, count(*) as loans from order_event e join (select id, rental_type from book_order union all select id, rental_type from book_order_history) o on o.id = e.order_id where e.new_state = 'BOOK_TAKEN' and e.occurred_at < :startOfToday group by cast(e.occurred_at as date), e.book_id, o.rental_type";
+
+    private static final String POSTGRESQL_BACKFILL = "insert into circulation_daily (id, day, book_id, rental_type, loans) select nextval('circulation_daily_seq'), day, book_id, rental_type, loans from (" + PAST_DAILY_LOANS + ") daily_loans on conflict (day, book_id, rental_type) do update set loans = excluded.loans";
+
+    private static final String PORTABLE_BACKFILL = "merge into circulation_daily c using (" + PAST_DAILY_LOANS + ") daily_loans on c.day = daily_loans.day and c.book_id = daily_loans.book_id and c.rental_type = daily_loans.rental_type when matched then update set loans = daily_loans.loans when not matched then insert (id, day, book_id, rental_type, loans) values (next value for circulation_daily_seq, daily_loans.day, daily_loans.book_id, daily_loans.rental_type, daily_loans.loans)";
+
+    @Value("${circulation-statistics.default-days:30}")
+    private int defaultDays;
+
+    @Value("${circulation-statistics.default-top-titles:10}")
+    private int defaultTopTitles;
+
+    @Value("${circulation-statistics.max-top-titles:100}")
+    private int maxTopTitles;
+
+    private final DailyCirculationRepository circulationRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile boolean postgresql;
+
+    @Autowired
+    public CirculationAggregator(DailyCirculationRepository circulationRepository, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.circulationRepository = circulationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String databaseProductName = jdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData()
+                        .getDatabaseProductName());
+        postgresql = POSTGRESQL.equals(databaseProductName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("startOfToday", LocalDate.now().atStartOfDay());
+        jdbcTemplate.update(postgresql ? POSTGRESQL_BACKFILL : PORTABLE_BACKFILL, parameters);
+    }
+
+    @EventListener
+    public void onOrderStateChanged(BookOrderStateChangedEvent event) {
+        if (event.getNewState() != OrderState.BOOK_TAKEN) {
+            return;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("day", event.getOccurredAt().toLocalDate())
+                .addValue("bookId", event.getBookId())
+                .addValue("rentalType", event.getRentalType().name());
+        if (postgresql) {
+            jdbcTemplate.update(POSTGRESQL_INCREMENT, parameters);
+            return;
+        }
+        if (jdbcTemplate.update(PORTABLE_UPDATE, parameters) == 0 && jdbcTemplate.update(PORTABLE_INSERT, parameters) == 0) {
+            jdbcTemplate.update(PORTABLE_UPDATE, parameters);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CirculationStatistics getStatistics(LocalDate from, LocalDate to, Integer top) throws ServiceException {
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = to.minusDays(defaultDays - 1L);
+        }
+        if (from.isAfter(to)) {
+            throw new ServiceException("The start of the range " + from + " is after its end " + to);
+        }
+        int topTitlesLimit = top == null ? defaultTopTitles : top;
+        if (topTitlesLimit < 1) {
+            throw new ServiceException("The number of top titles must be at least 1");
+        }
+
+        return new CirculationStatistics(from, to,
+                circulationRepository.findLoansPerDay(from, to),
+                circulationRepository.findLoansPerGenre(from, to),
+                circulationRepository.findLoansPerRentalType(from, to),
+                circulationRepository.findTopTitles(from, to, PageRequest.ofSize(Math.min(topTitlesLimit, maxTopTitles))));
+    }
+}
@@ -0,0 +1,7 @@
+package com.patiun.libraryspring.statistics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CirculationStatistics(LocalDate from, LocalDate to, List<DayLoans> loansPerDay, List<GenreLoans> loansPerGenre, List<RentalTypeLoans> loansPerRentalType, List<TitleLoans> topTitles) {
+}
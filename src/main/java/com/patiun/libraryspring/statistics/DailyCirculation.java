@@ -0,0 +1,114 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.book.Book;
+import com.patiun.libraryspring.order.RentalType;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "circulation_daily", uniqueConstraints = @UniqueConstraint(name = "circulation_daily_key_uq", columnNames = {"day", "book_id", "rental_type"}))
+public class DailyCirculation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Integer id;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @Column(name = "rental_type", length = 64, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RentalType rentalType;
+
+    @Column(name = "loans", nullable = false)
+    private long loans;
+
+    public DailyCirculation() {
+    }
+
+    public DailyCirculation(Integer id, LocalDate day, Book book, RentalType rentalType, long loans) {
+        this.id = id;
+        this.day = day;
+        this.book = book;
+        this.rentalType = rentalType;
+        this.loans = loans;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    public RentalType getRentalType() {
+        return rentalType;
+    }
+
+    public void setRentalType(RentalType rentalType) {
+        this.rentalType = rentalType;
+    }
+
+    public long getLoans() {
+        return loans;
+    }
+
+    public void setLoans(long loans) {
+        this.loans = loans;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DailyCirculation that = (DailyCirculation) o;
+        return loans == that.loans && Objects.equals(id, that.id) && Objects.equals(day, that.day) && rentalType == that.rentalType;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(id);
+        result = 31 * result + Objects.hashCode(day);
+        result = 31 * result + Objects.hashCode(rentalType);
+        result = 31 * result + Long.hashCode(loans);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyCirculation{" +
+                "id=" + id +
+                ", day=" + day +
+                ", rentalType=" + rentalType +
+                ", loans=" + loans +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.order.RentalType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCirculationRepository extends JpaRepository<DailyCirculation, Integer> {
+
+    @Query("select new com.patiun.libraryspring.statistics.DayLoans(d.day, sum(d.loans)) from DailyCirculation d where d.day between :from and :to group by d.day order by d.day")
+    List<DayLoans> findLoansPerDay(LocalDate from, LocalDate to);
+
+    @Query("select new com.patiun.libraryspring.statistics.GenreLoans(g.id, g.name, sum(d.loans)) from DailyCirculation d join d.book b join b.genre g where d.day between :from and :to group by g.id, g.name order by sum(d.loans) desc")
+    List<GenreLoans> findLoansPerGenre(LocalDate from, LocalDate to);
+
+    @Query("select new com.patiun.libraryspring.statistics.RentalTypeLoans(d.rentalType, sum(d.loans)) from DailyCirculation d where d.day between :from and :to group by d.rentalType order by d.rentalType")
+    List<RentalTypeLoans> findLoansPerRentalType(LocalDate from, LocalDate to);
+
+    @Query("select new com.patiun.libraryspring.statistics.TitleLoans(b.id, b.title, sum(d.loans)) from DailyCirculation d join d.book b where d.day between :from and :to group by b.id, b.title order by sum(d.loans) desc, b.id")
+    List<TitleLoans> findTopTitles(LocalDate from, LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,6 @@
+package com.patiun.libraryspring.statistics;
+
+import java.time.LocalDate;
+
+public record DayLoans(LocalDate day, Long loans) {
+}
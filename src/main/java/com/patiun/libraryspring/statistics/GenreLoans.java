@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.statistics;
+
+public record GenreLoans(Integer genreId, String genre, Long loans) {
+}
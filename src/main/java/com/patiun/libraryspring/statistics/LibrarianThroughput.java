@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.order.OrderState;
+
+import java.util.Map;
+
+public record LibrarianThroughput(Integer librarianId, Map<OrderState, Long> transitions, long total) {
+}
@@ -0,0 +1,208 @@
+package com.patiun.libraryspring.statistics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patiun.libraryspring.order.BookOrderEvent;
+import com.patiun.libraryspring.order.BookOrderEventRepository;
+import com.patiun.libraryspring.order.OrderState;
+import com.patiun.libraryspring.statistics.OrderStatisticsProjection.EnteredState;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Component
+public class OrderStatistics implements SmartInitializingSingleton {
+
+    private static final List<Duration> BUCKET_UPPER_BOUNDS = List.of(Duration.ofHours(1), Duration.ofHours(6), Duration.ofDays(1), Duration.ofDays(3), Duration.ofDays(7), Duration.ofDays(14), Duration.ofDays(30));
+
+    private static final Integer CHECKPOINT_ID = 1;
+
+    private final BookOrderEventRepository eventRepository;
+    private final OrderStatisticsCheckpointRepository checkpointRepository;
+    private final ObjectMapper objectMapper;
+    private final int replayChunkSize;
+    private final int replayWindow;
+
+    private final Map<Integer, EnteredState> enteredStatesByOrderId = new HashMap<>();
+    private final Map<OrderState, long[]> bucketCountsByState = new EnumMap<>(OrderState.class);
+    private final Map<OrderState, Duration> totalTimesByState = new EnumMap<>(OrderState.class);
+    private final Map<Integer, Map<OrderState, Long>> transitionsByLibrarianId = new HashMap<>();
+    private final NavigableSet<Long> recentEventIds = new TreeSet<>();
+
+    private long lastAppliedEventId;
+    private boolean dirty;
+
+    @Autowired
+    public OrderStatistics(BookOrderEventRepository eventRepository, OrderStatisticsCheckpointRepository checkpointRepository, ObjectMapper objectMapper, @Value("${order-statistics.replay-chunk-size:1000}") int replayChunkSize, @Value("${order-statistics.replay-window:500}") int replayWindow) {
+        this.eventRepository = eventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.objectMapper = objectMapper;
+        this.replayChunkSize = replayChunkSize;
+        this.replayWindow = replayWindow;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        checkpointRepository.findById(CHECKPOINT_ID)
+                .ifPresent(this::restore);
+        checkpoint();
+    }
+
+    @Scheduled(fixedDelayString = "${order-statistics.checkpoint-interval:PT5M}", initialDelayString = "${order-statistics.checkpoint-interval:PT5M}")
+    public void checkpoint() {
+        catchUp();
+
+        OrderStatisticsCheckpoint checkpoint;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            checkpoint = new OrderStatisticsCheckpoint(CHECKPOINT_ID, lastAppliedEventId, writeProjection(), LocalDateTime.now());
+            dirty = false;
+        }
+        try {
+            checkpointRepository.save(checkpoint);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOrderEvent(BookOrderEvent event) {
+        if (!recentEventIds.contains(event.getId())) {
+            apply(event);
+        }
+    }
+
+    public synchronized List<TimeInStateHistogram> getTimeInStateHistograms() {
+        List<TimeInStateHistogram> histograms = new ArrayList<>();
+        bucketCountsByState.forEach((state, bucketCounts) -> {
+            List<TimeInStateHistogram.Bucket> buckets = new ArrayList<>();
+            long count = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                Duration upperBound = i < BUCKET_UPPER_BOUNDS.size() ? BUCKET_UPPER_BOUNDS.get(i) : null;
+                buckets.add(new TimeInStateHistogram.Bucket(upperBound, bucketCounts[i]));
+                count += bucketCounts[i];
+            }
+            Duration meanTime = totalTimesByState.get(state)
+                    .dividedBy(count);
+            histograms.add(new TimeInStateHistogram(state, count, meanTime, buckets));
+        });
+        return histograms;
+    }
+
+    public synchronized List<LibrarianThroughput> getLibrarianThroughput() {
+        return transitionsByLibrarianId.entrySet()
+                .stream()
+                .map(entry -> {
+                    Map<OrderState, Long> transitions = new EnumMap<>(entry.getValue());
+                    long total = transitions.values()
+                            .stream()
+                            .mapToLong(Long::longValue)
+                            .sum();
+                    return new LibrarianThroughput(entry.getKey(), transitions, total);
+                })
+                .sorted(Comparator.comparingLong(LibrarianThroughput::total).reversed())
+                .toList();
+    }
+
+    private void catchUp() {
+        long lastEventId;
+        synchronized (this) {
+            lastEventId = replayFloor();
+        }
+        List<BookOrderEvent> events;
+        do {
+            events = eventRepository.findByIdGreaterThanOrderById(lastEventId, PageRequest.ofSize(replayChunkSize));
+            events.forEach(this::applyIfUnseen);
+            if (!events.isEmpty()) {
+                lastEventId = events.get(events.size() - 1)
+                        .getId();
+            }
+        } while (events.size() == replayChunkSize);
+    }
+
+    private synchronized void applyIfUnseen(BookOrderEvent event) {
+        if (event.getId() > replayFloor() && !recentEventIds.contains(event.getId())) {
+            apply(event);
+        }
+    }
+
+    private long replayFloor() {
+        return Math.max(0, lastAppliedEventId - replayWindow);
+    }
+
+    private void apply(BookOrderEvent event) {
+        lastAppliedEventId = Math.max(lastAppliedEventId, event.getId());
+        recentEventIds.add(event.getId());
+        recentEventIds.headSet(replayFloor(), true)
+                .clear();
+        dirty = true;
+
+        Integer orderId = event.getOrderId();
+        OrderState previousState = event.getPreviousState();
+        OrderState newState = event.getNewState();
+        LocalDateTime occurredAt = event.getOccurredAt();
+
+        EnteredState enteredState = enteredStatesByOrderId.remove(orderId);
+        if (enteredState != null && enteredState.state() == previousState) {
+            recordTimeInState(previousState, Duration.between(enteredState.enteredAt(), occurredAt));
+        }
+        if (newState != OrderState.DECLINED && newState != OrderState.BOOK_RETURNED) {
+            enteredStatesByOrderId.put(orderId, new EnteredState(newState, occurredAt));
+        }
+
+        Integer actorId = event.getActorId();
+        if (previousState != null && actorId != null) {
+            transitionsByLibrarianId.computeIfAbsent(actorId, key -> new EnumMap<>(OrderState.class))
+                    .merge(newState, 1L, Long::sum);
+        }
+    }
+
+    private synchronized void restore(OrderStatisticsCheckpoint checkpoint) {
+        OrderStatisticsProjection projection;
+        try {
+            projection = objectMapper.readValue(checkpoint.getProjection(), OrderStatisticsProjection.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the order statistics checkpoint after the event by id = " + checkpoint.getLastEventId(), e);
+        }
+        enteredStatesByOrderId.putAll(projection.enteredStatesByOrderId());
+        bucketCountsByState.putAll(projection.bucketCountsByState());
+        totalTimesByState.putAll(projection.totalTimesByState());
+        projection.transitionsByLibrarianId()
+                .forEach((librarianId, transitions) -> transitionsByLibrarianId.computeIfAbsent(librarianId, key -> new EnumMap<>(OrderState.class))
+                        .putAll(transitions));
+        recentEventIds.addAll(projection.recentEventIds());
+        lastAppliedEventId = checkpoint.getLastEventId();
+    }
+
+    private String writeProjection() {
+        OrderStatisticsProjection projection = new OrderStatisticsProjection(enteredStatesByOrderId, bucketCountsByState, totalTimesByState, transitionsByLibrarianId, recentEventIds);
+        try {
+            return objectMapper.writeValueAsString(projection);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the order statistics checkpoint after the event by id = " + lastAppliedEventId, e);
+        }
+    }
+
+    private void recordTimeInState(OrderState state, Duration timeInState) {
+        long[] bucketCounts = bucketCountsByState.computeIfAbsent(state, key -> new long[BUCKET_UPPER_BOUNDS.size() + 1]);
+        int bucket = 0;
+        while (bucket < BUCKET_UPPER_BOUNDS.size() && timeInState.compareTo(BUCKET_UPPER_BOUNDS.get(bucket)) > 0) {
+            bucket++;
+        }
+        bucketCounts[bucket]++;
+        totalTimesByState.merge(state, timeInState, Duration::plus);
+    }
+}
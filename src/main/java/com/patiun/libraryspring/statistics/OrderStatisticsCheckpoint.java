@@ -0,0 +1,96 @@
+package com.patiun.libraryspring.statistics;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "order_statistics_checkpoint")
+public class OrderStatisticsCheckpoint {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    @Column(name = "projection", nullable = false, columnDefinition = "text")
+    private String projection;
+
+    @Column(name = "saved_at", nullable = false)
+    private LocalDateTime savedAt;
+
+    public OrderStatisticsCheckpoint() {
+    }
+
+    public OrderStatisticsCheckpoint(Integer id, long lastEventId, String projection, LocalDateTime savedAt) {
+        this.id = id;
+        this.lastEventId = lastEventId;
+        this.projection = projection;
+        this.savedAt = savedAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public String getProjection() {
+        return projection;
+    }
+
+    public void setProjection(String projection) {
+        this.projection = projection;
+    }
+
+    public LocalDateTime getSavedAt() {
+        return savedAt;
+    }
+
+    public void setSavedAt(LocalDateTime savedAt) {
+        this.savedAt = savedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        OrderStatisticsCheckpoint that = (OrderStatisticsCheckpoint) o;
+        return lastEventId == that.lastEventId && Objects.equals(id, that.id) && Objects.equals(projection, that.projection) && Objects.equals(savedAt, that.savedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(id);
+        result = 31 * result + Long.hashCode(lastEventId);
+        result = 31 * result + Objects.hashCode(projection);
+        result = 31 * result + Objects.hashCode(savedAt);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatisticsCheckpoint{" +
+                "id=" + id +
+                ", lastEventId=" + lastEventId +
+                ", savedAt=" + savedAt +
+                '}';
+    }
+}
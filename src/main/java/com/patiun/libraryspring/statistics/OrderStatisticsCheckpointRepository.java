@@ -0,0 +1,8 @@
+package com.patiun.libraryspring.statistics;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderStatisticsCheckpointRepository extends CrudRepository<OrderStatisticsCheckpoint, Integer> {
+}
@@ -0,0 +1,14 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.order.OrderState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SortedSet;
+
+public record OrderStatisticsProjection(Map<Integer, EnteredState> enteredStatesByOrderId, Map<OrderState, long[]> bucketCountsByState, Map<OrderState, Duration> totalTimesByState, Map<Integer, Map<OrderState, Long>> transitionsByLibrarianId, SortedSet<Long> recentEventIds) {
+
+    public record EnteredState(OrderState state, LocalDateTime enteredAt) {
+    }
+}
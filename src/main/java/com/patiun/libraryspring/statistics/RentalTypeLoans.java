@@ -0,0 +1,6 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.order.RentalType;
+
+public record RentalTypeLoans(RentalType rentalType, Long loans) {
+}
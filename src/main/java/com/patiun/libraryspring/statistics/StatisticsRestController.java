@@ -0,0 +1,41 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.exception.ServiceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+public class StatisticsRestController {
+
+    private final OrderStatistics orderStatistics;
+    private final CirculationAggregator circulationAggregator;
+
+    @Autowired
+    public StatisticsRestController(OrderStatistics orderStatistics, CirculationAggregator circulationAggregator) {
+        this.orderStatistics = orderStatistics;
+        this.circulationAggregator = circulationAggregator;
+    }
+
+    @GetMapping("time-in-state")
+    public List<TimeInStateHistogram> readTimeInStateHistograms() {
+        return orderStatistics.getTimeInStateHistograms();
+    }
+
+    @GetMapping("librarians")
+    public List<LibrarianThroughput> readLibrarianThroughput() {
+        return orderStatistics.getLibrarianThroughput();
+    }
+
+    @GetMapping("circulation")
+    public CirculationStatistics readCirculationStatistics(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to, @RequestParam(required = false) Integer top) throws ServiceException {
+        return circulationAggregator.getStatistics(from, to, top);
+    }
+}
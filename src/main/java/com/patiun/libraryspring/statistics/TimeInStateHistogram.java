@@ -0,0 +1,12 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.order.OrderState;
+
+import java.time.Duration;
+import java.util.List;
+
+public record TimeInStateHistogram(OrderState state, long count, Duration meanTime, List<Bucket> buckets) {
+
+    public record Bucket(Duration upperBound, long count) {
+    }
+}
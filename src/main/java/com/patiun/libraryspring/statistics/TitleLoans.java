@@ -0,0 +1,4 @@
+package com.patiun.libraryspring.statistics;
+
+public record TitleLoans(Integer bookId, String title, Long loans) {
+}
@@ -0,0 +1,98 @@
+package com.patiun.libraryspring.user;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class TokenEpochCache implements SmartInitializingSingleton {
+
+    private static final int INITIAL_EXPECTED_SIZE = 64;
+
+    private final UserRepository userRepository;
+    private final Duration refreshOverlap;
+
+    private volatile IntIntHashMap epochs = new IntIntHashMap(INITIAL_EXPECTED_SIZE);
+    private LocalDateTime refreshedUntil;
+
+    @Autowired
+    public TokenEpochCache(UserRepository userRepository, @Value("${token-epochs.refresh-overlap:PT10S}") Duration refreshOverlap, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.refreshOverlap = refreshOverlap;
+        Gauge.builder("token.epochs.size", this, cache -> cache.epochs.size())
+                .description("Users whose issued tokens have been revoked at least once")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${token-epochs.refresh-interval:PT2S}", initialDelayString = "${token-epochs.refresh-interval:PT2S}")
+    public void refresh() {
+        LocalDateTime since;
+        synchronized (this) {
+            since = refreshedUntil;
+        }
+        if (since == null) {
+            LocalDateTime loadStartedAt = LocalDateTime.now();
+            apply(userRepository.findRevokedTokenEpochs());
+            advanceRefreshedUntil(loadStartedAt);
+        } else {
+            apply(userRepository.findTokenEpochsChangedAfter(since.minus(refreshOverlap)));
+        }
+    }
+
+    public boolean isCurrent(Integer userId, int tokenEpoch) {
+        int knownEpoch = epochs.get(userId, 0);
+        if (tokenEpoch <= knownEpoch) {
+            return tokenEpoch == knownEpoch;
+        }
+
+        Optional<Integer> currentEpoch = userRepository.findTokenEpochById(userId);
+        currentEpoch.ifPresent(epoch -> apply(List.of(new UserTokenEpoch(userId, epoch, null))));
+        return currentEpoch.map(epoch -> epoch == tokenEpoch)
+                .orElse(false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        apply(List.of(new UserTokenEpoch(event.getUserId(), event.getTokenEpoch(), null)));
+    }
+
+    private synchronized void apply(List<UserTokenEpoch> changedEpochs) {
+        IntIntHashMap updatedEpochs = null;
+        for (UserTokenEpoch changedEpoch : changedEpochs) {
+            advanceRefreshedUntil(changedEpoch.changedAt());
+
+            IntIntHashMap currentEpochs = updatedEpochs != null ? updatedEpochs : epochs;
+            if (changedEpoch.tokenEpoch() <= currentEpochs.get(changedEpoch.userId(), 0)) {
+                continue;
+            }
+            if (updatedEpochs == null) {
+                updatedEpochs = epochs.copy();
+            }
+            updatedEpochs.put(changedEpoch.userId(), changedEpoch.tokenEpoch());
+        }
+        if (updatedEpochs != null) {
+            epochs = updatedEpochs;
+        }
+    }
+
+    private synchronized void advanceRefreshedUntil(LocalDateTime changedAt) {
+        if (changedAt != null && (refreshedUntil == null || changedAt.isAfter(refreshedUntil))) {
+            refreshedUntil = changedAt;
+        }
+    }
+}
@@ -5,11 +5,12 @@ import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Objects;
 
 @Entity
-@Table(name = "\"user\"")
+@Table(name = "\"user\"", indexes = @Index(name = "user_token_epoch_changed_at_idx", columnList = "token_epoch_changed_at"))
 public class User implements UserDetails {
 
     @Id
@@ -39,6 +40,14 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    @Column(name = "token_epoch", columnDefinition = "integer default 0 not null")
+    @JsonIgnore
+    private int tokenEpoch;
+
+    @Column(name = "token_epoch_changed_at")
+    @JsonIgnore
+    private LocalDateTime tokenEpochChangedAt;
+
     public User() {
     }
 
@@ -118,6 +127,22 @@ public class User implements UserDetails {
         this.role = role;
     }
 
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    public void setTokenEpoch(int tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
+    public LocalDateTime getTokenEpochChangedAt() {
+        return tokenEpochChangedAt;
+    }
+
+    public void setTokenEpochChangedAt(LocalDateTime tokenEpochChangedAt) {
+        this.tokenEpochChangedAt = tokenEpochChangedAt;
+    }
+
     @Override
     @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
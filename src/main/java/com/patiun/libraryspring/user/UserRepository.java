@@ -1,8 +1,10 @@
 package com.patiun.libraryspring.user;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +14,13 @@ public interface UserRepository extends ListCrudRepository<User, Integer> {
     Optional<User> findByLogin(String login);
 
     List<User> findByRoleIs(UserRole role);
+
+    @Query("select u.tokenEpoch from User u where u.id = :id")
+    Optional<Integer> findTokenEpochById(Integer id);
+
+    @Query("select new com.patiun.libraryspring.user.UserTokenEpoch(u.id, u.tokenEpoch, u.tokenEpochChangedAt) from User u where u.tokenEpoch > 0")
+    List<UserTokenEpoch> findRevokedTokenEpochs();
+
+    @Query("select new com.patiun.libraryspring.user.UserTokenEpoch(u.id, u.tokenEpoch, u.tokenEpochChangedAt) from User u where u.tokenEpochChangedAt > :since")
+    List<UserTokenEpoch> findTokenEpochsChangedAfter(LocalDateTime since);
 }
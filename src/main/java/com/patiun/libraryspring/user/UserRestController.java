@@ -40,7 +40,7 @@ public class UserRestController {
         String login = authentication.getName();
         User authenticatingUser = userService.getUserByLogin(login);
         UserRole authenticatingUserRole = authenticatingUser.getRole();
-        return new AuthenticationResponseDto(jwtService.generateToken(login), new UserRole[]{authenticatingUserRole});
+        return new AuthenticationResponseDto(jwtService.generateToken(authenticatingUser), new UserRole[]{authenticatingUserRole});
     }
 
     @GetMapping
@@ -3,12 +3,14 @@ package com.patiun.libraryspring.user;
 import com.patiun.libraryspring.exception.ElementNotFoundException;
 import com.patiun.libraryspring.exception.ServiceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -16,11 +18,13 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -76,11 +80,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     public void updateUserById(Integer id, String firstName, String lastName, UserRole role) {
         User targetUser = getExistingUserById(id);
 
+        boolean roleChanged = targetUser.getRole() != role;
         targetUser.setFirstName(firstName);
         targetUser.setLastName(lastName);
         targetUser.setRole(role);
 
-        userRepository.save(targetUser);
+        if (roleChanged) {
+            saveRevokingTokens(targetUser);
+        } else {
+            userRepository.save(targetUser);
+        }
     }
 
     @Override
@@ -90,7 +99,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         boolean currentUserBlocked = foundUser.getBlocked();
         foundUser.setBlocked(!currentUserBlocked);
 
-        userRepository.save(foundUser);
+        saveRevokingTokens(foundUser);
     }
 
     @Override
@@ -100,7 +109,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         boolean currentUserEnabled = foundUser.getEnabled();
         foundUser.setEnabled(!currentUserEnabled);
 
-        userRepository.save(foundUser);
+        saveRevokingTokens(foundUser);
     }
 
     @Override
@@ -110,7 +119,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         targetUser.setPassword(encodedNewPassword);
 
-        userRepository.save(targetUser);
+        saveRevokingTokens(targetUser);
     }
 
     @Override
@@ -122,6 +131,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         userRepository.save(foundUser);
     }
 
+    private void saveRevokingTokens(User user) {
+        int newTokenEpoch = user.getTokenEpoch() + 1;
+        user.setTokenEpoch(newTokenEpoch);
+        user.setTokenEpochChangedAt(LocalDateTime.now());
+
+        userRepository.save(user);
+
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(user.getId(), newTokenEpoch));
+    }
+
     private User getExistingUserById(Integer id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ElementNotFoundException("Could not find a user by id = " + id));
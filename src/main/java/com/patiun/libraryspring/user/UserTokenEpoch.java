@@ -0,0 +1,6 @@
+package com.patiun.libraryspring.user;
+
+import java.time.LocalDateTime;
+
+public record UserTokenEpoch(Integer userId, int tokenEpoch, LocalDateTime changedAt) {
+}
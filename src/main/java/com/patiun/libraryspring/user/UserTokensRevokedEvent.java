@@ -0,0 +1,51 @@
+package com.patiun.libraryspring.user;
+
+import java.util.Objects;
+
+public class UserTokensRevokedEvent {
+
+    private final Integer userId;
+
+    private final int tokenEpoch;
+
+    public UserTokensRevokedEvent(Integer userId, int tokenEpoch) {
+        this.userId = userId;
+        this.tokenEpoch = tokenEpoch;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        UserTokensRevokedEvent that = (UserTokensRevokedEvent) o;
+        return tokenEpoch == that.tokenEpoch && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(userId);
+        result = 31 * result + tokenEpoch;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "UserTokensRevokedEvent{" +
+                "userId=" + userId +
+                ", tokenEpoch=" + tokenEpoch +
+                '}';
+    }
+}
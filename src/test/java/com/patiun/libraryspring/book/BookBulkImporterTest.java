@@ -0,0 +1,118 @@
+package com.patiun.libraryspring.book;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookBulkImporterTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private BookService bookService;
+
+    private BookBulkImporter bulkImporter;
+
+    @BeforeEach
+    public void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory()
+                .getValidator();
+        bulkImporter = new BookBulkImporter(bookService, new BookMapper(), validator);
+        ReflectionTestUtils.setField(bulkImporter, "chunkSize", CHUNK_SIZE);
+    }
+
+    @Test
+    public void testImportBooksShouldStoreTheValidBooksInChunksAndReportTheInvalidOnes() {
+        //given
+        List<BookEditDto> editDtos = List.of(newEditDto("book1"), newEditDto(null), newEditDto("book3"), newEditDto("book4"));
+
+        given(bookService.importBooks(anyList()))
+                .willReturn(List.of(101, 103))
+                .willReturn(List.of(104));
+        //when
+        BookImportReport report = bulkImporter.importBooks(editDtos.iterator());
+        //then
+        then(bookService)
+                .should(times(2))
+                .importBooks(anyList());
+
+        assertThat(report.importedCount())
+                .isEqualTo(3);
+        assertThat(report.rejectedCount())
+                .isEqualTo(1);
+        assertThat(report.results())
+                .extracting(BookImportResult::index, BookImportResult::bookId)
+                .containsExactly(
+                        tuple(0, 101),
+                        tuple(1, null),
+                        tuple(2, 103),
+                        tuple(3, 104)
+                );
+        assertThat(report.results().get(1).errors())
+                .contains("Title must not be null");
+    }
+
+    @Test
+    public void testImportBooksShouldStoreTheBooksOfAFailedChunkOneByOneAndRejectOnlyTheFailingOnes() {
+        //given
+        List<BookEditDto> editDtos = List.of(newEditDto("book1"), newEditDto("book2"));
+
+        given(bookService.importBooks(anyList()))
+                .willThrow(new DataIntegrityViolationException("book_pkey"))
+                .willReturn(List.of(101))
+                .willThrow(new DataIntegrityViolationException("book_pkey"));
+        //when
+        BookImportReport report = bulkImporter.importBooks(editDtos.iterator());
+        //then
+        then(bookService)
+                .should(times(3))
+                .importBooks(anyList());
+
+        assertThat(report.importedCount())
+                .isEqualTo(1);
+        assertThat(report.rejectedCount())
+                .isEqualTo(1);
+        assertThat(report.results())
+                .extracting(BookImportResult::index, BookImportResult::bookId)
+                .containsExactly(
+                        tuple(0, 101),
+                        tuple(1, null)
+                );
+    }
+
+    @Test
+    public void testImportBooksShouldRejectEveryBookOfTheChunkWhenNoneCouldBeStored() {
+        //given
+        List<BookEditDto> editDtos = List.of(newEditDto("book1"), newEditDto("book2"));
+
+        given(bookService.importBooks(anyList()))
+                .willThrow(new DataIntegrityViolationException("book_pkey"));
+        //when
+        BookImportReport report = bulkImporter.importBooks(editDtos.iterator());
+        //then
+        assertThat(report.importedCount())
+                .isEqualTo(0);
+        assertThat(report.rejectedCount())
+                .isEqualTo(2);
+    }
+
+    private BookEditDto newEditDto(String title) {
+        return new BookEditDto(title, List.of("Leo Tolstoy"), List.of(new EditorDto("editorRole", "editorName")), "Novel", new PublisherDto("publisher", "postalCode", "address"), new PrintingHouseDto("printingHouse", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12);
+    }
+}
@@ -0,0 +1,94 @@
+package com.patiun.libraryspring.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookCatalogExporterTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookCatalogExporter catalogExporter;
+
+    @BeforeEach
+    public void setUp() {
+        catalogExporter = new BookCatalogExporter(bookRepository, transactionManager, new ObjectMapper());
+        ReflectionTestUtils.setField(catalogExporter, "chunkSize", CHUNK_SIZE);
+    }
+
+    @Test
+    public void testExportShouldLoadTheContributorsOncePerChunk() throws IOException {
+        //given
+        given(bookRepository.streamAllDetailViews())
+                .willReturn(Stream.of(newBookView(1, "book1"), newBookView(2, "book2"), newBookView(3, "book3")));
+        given(bookRepository.findAuthorViewsByBookIdIn(anyCollection()))
+                .willReturn(List.of());
+        given(bookRepository.findEditorViewsByBookIdIn(anyCollection()))
+                .willReturn(List.of());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        catalogExporter.export(BookExportFormat.NDJSON, outputStream);
+        //then
+        then(bookRepository)
+                .should(times(1))
+                .findAuthorViewsByBookIdIn(List.of(1, 2));
+        then(bookRepository)
+                .should(times(1))
+                .findAuthorViewsByBookIdIn(List.of(3));
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).lines())
+                .hasSize(3);
+    }
+
+    @Test
+    public void testExportShouldFlattenTheContributorsAndQuoteTheCsvFields() throws IOException {
+        //given
+        given(bookRepository.streamAllDetailViews())
+                .willReturn(Stream.of(newBookView(1, "War, and Peace")));
+        given(bookRepository.findAuthorViewsByBookIdIn(anyCollection()))
+                .willReturn(List.of(new BookAuthorView(1, 3, "Leo Tolstoy"), new BookAuthorView(1, 4, "Anton Chekhov")));
+        given(bookRepository.findEditorViewsByBookIdIn(anyCollection()))
+                .willReturn(List.of(new BookEditorView(1, 12, "Translator", "Louise Maude")));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        catalogExporter.export(BookExportFormat.CSV, outputStream);
+        //then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8)
+                .lines()
+                .toList();
+        assertThat(lines)
+                .hasSize(2);
+        assertThat(lines.get(1))
+                .startsWith("1,\"War, and Peace\",Leo Tolstoy; Anton Chekhov,Louise Maude (Translator),Novel,");
+    }
+
+    private BookDetailView newBookView(Integer id, String title) {
+        return new BookDetailView(id, title, 145, "Novel", 35, "publisher", "postalCode", "address", 8, "printingHouse", "postalCode", "address", 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12, 0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.patiun.libraryspring.book;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookDetailCacheTest {
+
+    private static final int CONCURRENT_READERS = 16;
+
+    private BookDetailCache detailCache;
+
+    @BeforeEach
+    public void setUp() {
+        detailCache = new BookDetailCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testGetShouldLoadAHotBookOnceWhenItIsRequestedConcurrently() throws Exception {
+        //given
+        Integer bookId = 4;
+        BookDetailView book = newBookView(bookId);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_READERS);
+        List<Future<Optional<BookDetailView>>> results = new ArrayList<>();
+        //when
+        for (int i = 0; i < CONCURRENT_READERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return detailCache.get(bookId, id -> {
+                    loads.incrementAndGet();
+                    sleep();
+                    return Optional.of(book);
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<Optional<BookDetailView>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS))
+                    .contains(book);
+        }
+        executor.shutdown();
+        //then
+        assertThat(loads.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testGetShouldReloadTheBookAfterItHasChanged() {
+        //given
+        Integer bookId = 4;
+        AtomicInteger loads = new AtomicInteger();
+        detailCache.get(bookId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(newBookView(id));
+        });
+        //when
+        detailCache.onBookChanged(new BookChangedEvent(bookId, BookChangeType.STOCK_CHANGED));
+        detailCache.get(bookId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(newBookView(id));
+        });
+        //then
+        assertThat(loads.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void testGetShouldNotCacheMissingBooks() {
+        //given
+        Integer bookId = 4;
+        detailCache.get(bookId, id -> Optional.empty());
+        //when
+        Optional<BookDetailView> actualBook = detailCache.get(bookId, id -> Optional.of(newBookView(id)));
+        //then
+        assertThat(actualBook)
+                .isPresent();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BookDetailView newBookView(Integer id) {
+        return new BookDetailView(id, "book", 145, "Novel", 35, "publisher", "postalCode", "address", 8, "printingHouse", "postalCode", "address", 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12, 0);
+    }
+}
@@ -0,0 +1,146 @@
+package com.patiun.libraryspring.book;
+
+import com.patiun.libraryspring.order.BookOrder;
+import com.patiun.libraryspring.order.OrderState;
+import com.patiun.libraryspring.order.RentalType;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestEntityManager
+@Transactional
+public class BookQueryCountIntegrationTest {
+
+    private static final int BOOKS_NUMBER = 30;
+
+    private static final long BOOK_LIST_STATEMENTS = 2;
+
+    private static final long BOOK_DETAIL_STATEMENTS = 3;
+    private static final long VERSION_CHECK_STATEMENTS = 1;
+
+    private static final long ORDER_LIST_STATEMENTS = 1;
+
+    private final MockMvc mvc;
+
+    private final TestEntityManager testEntityManager;
+
+    private final Statistics statistics;
+
+    private final List<Book> persistedBooks = new ArrayList<>();
+
+    private User librarian;
+
+    @Autowired
+    public BookQueryCountIntegrationTest(MockMvc mvc, TestEntityManager testEntityManager, EntityManagerFactory entityManagerFactory) {
+        this.mvc = mvc;
+        this.testEntityManager = testEntityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @BeforeEach
+    public void persistBooksAndOrders() {
+        Genre genre = new Genre(null, "genre");
+        Publisher publisher = new Publisher(null, "publisher", "postalCode", "address");
+        PrintingHouse printingHouse = new PrintingHouse(null, "printingHouse", "postalCode", "address");
+        for (int i = 0; i < BOOKS_NUMBER; i++) {
+            List<Author> authors = List.of(new Author("author" + i), new Author("coauthor" + i));
+            List<Editor> editors = List.of(new Editor(null, "editorRole", "editorName" + i));
+            Book book = new Book(null, "book" + i, authors, editors, genre, publisher, printingHouse, 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12, false);
+            persistedBooks.add(testEntityManager.persist(book));
+        }
+
+        librarian = testEntityManager.persist(new User(null, "librarian", "password", "first", "last", false, true, UserRole.LIBRARIAN));
+        User reader = testEntityManager.persist(new User(null, "reader", "password", "first", "last", false, true, UserRole.READER));
+        for (Book book : persistedBooks) {
+            testEntityManager.persist(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, LocalDate.now(), LocalDate.now().plusDays(7), null, OrderState.PLACED));
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    public void testReadAllBooksShouldLoadTheBookGraphsInAFixedNumberOfStatements() throws Exception {
+        assertStatementCount(get("/books"), BOOK_LIST_STATEMENTS);
+    }
+
+    @Test
+    public void testReadBookCatalogPageShouldLoadTheBookGraphsInAFixedNumberOfStatements() throws Exception {
+        assertStatementCount(get("/books/catalog").param("size", String.valueOf(BOOKS_NUMBER)), BOOK_LIST_STATEMENTS);
+    }
+
+    @Test
+    public void testReadBookShouldLoadTheBookGraphInAFixedNumberOfStatements() throws Exception {
+        Integer targetBookId = persistedBooks.get(0).getId();
+
+        assertStatementCount(get("/books/" + targetBookId), BOOK_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    public void testReadBookShouldBeServedFromTheCacheWhenItHasAlreadyBeenRead() throws Exception {
+        Integer targetBookId = persistedBooks.get(0).getId();
+        mvc.perform(get("/books/" + targetBookId))
+                .andExpect(status().isOk());
+
+        assertStatementCount(get("/books/" + targetBookId), 0);
+    }
+
+    @Test
+    public void testReadBookShouldOnlyCheckTheVersionWhenTheETagMatches() throws Exception {
+        Integer targetBookId = persistedBooks.get(0).getId();
+        String eTag = mvc.perform(get("/books/" + targetBookId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mvc.perform(get("/books/" + targetBookId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount())
+                .isEqualTo(VERSION_CHECK_STATEMENTS);
+    }
+
+    @Test
+    public void testReadAllOrdersShouldLoadTheOrderGraphsInAFixedNumberOfStatements() throws Exception {
+        assertStatementCount(get("/orders").with(user(librarian)), ORDER_LIST_STATEMENTS);
+    }
+
+    private void assertStatementCount(RequestBuilder request, long expectedStatements) throws Exception {
+        //given
+        statistics.clear();
+        //when
+        mvc.perform(request)
+                .andExpect(status().isOk());
+        //then
+        assertThat(statistics.getPrepareStatementCount())
+                .isEqualTo(expectedStatements);
+    }
+}
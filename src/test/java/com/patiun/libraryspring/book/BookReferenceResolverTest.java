@@ -0,0 +1,249 @@
+package com.patiun.libraryspring.book;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookReferenceResolverTest {
+
+    private static final int CACHE_MAXIMUM_SIZE = 100;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private EditorRepository editorRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    @Mock
+    private PrintingHouseRepository printingHouseRepository;
+
+    @Mock
+    private ReferenceUpserter referenceUpserter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BookReferenceResolver referenceResolver;
+
+    @BeforeEach
+    public void setUp() {
+        referenceResolver = new BookReferenceResolver(authorRepository, editorRepository, genreRepository, publisherRepository, printingHouseRepository, referenceUpserter, entityManager, CACHE_MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void testResolveShouldLookUpEveryReferenceTypeOnceForTheWholeBatch() {
+        //given
+        Book firstBook = newBook("book1", List.of("Leo Tolstoy", "Anton Chekhov"), "Novel");
+        Book secondBook = newBook("book2", List.of("Leo Tolstoy"), "Novel");
+
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of(new Author(3, "Leo Tolstoy"), new Author(4, "Anton Chekhov")));
+        givenExistingReferencesExceptAuthors(new Publisher(35, "publisher", "postalCode", "address"));
+        //when
+        referenceResolver.resolve(List.of(firstBook, secondBook));
+        //then
+        then(authorRepository)
+                .should(times(1))
+                .findByNameIn(Set.of("Leo Tolstoy", "Anton Chekhov"));
+        then(genreRepository)
+                .should(times(1))
+                .findByNameIn(Set.of("Novel"));
+
+        assertThat(firstBook.getAuthors().get(0))
+                .isSameAs(secondBook.getAuthors().get(0));
+        assertThat(firstBook.getGenre())
+                .isSameAs(secondBook.getGenre());
+    }
+
+    @Test
+    public void testResolveShouldNotQueryTheReferencesWhenTheirIdsAreCached() {
+        //given
+        Book firstBook = newBook("book1", List.of("Leo Tolstoy"), "Novel");
+        Book secondBook = newBook("book2", List.of("Leo Tolstoy"), "Novel");
+
+        Author cachedAuthor = new Author(3, "Leo Tolstoy");
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of(cachedAuthor));
+        givenExistingReferencesExceptAuthors(new Publisher(35, "publisher", "postalCode", "address"));
+        given(entityManager.getReference(Author.class, 3))
+                .willReturn(cachedAuthor);
+        referenceResolver.resolve(List.of(firstBook));
+        //when
+        referenceResolver.resolve(List.of(secondBook));
+        //then
+        then(authorRepository)
+                .should(times(1))
+                .findByNameIn(any());
+        then(genreRepository)
+                .should(times(1))
+                .findByNameIn(any());
+
+        assertThat(secondBook.getAuthors())
+                .containsExactly(cachedAuthor);
+    }
+
+    @Test
+    public void testResolveShouldCacheTheIdsFoundInATransactionWhenItCommits() {
+        //given
+        Book firstBook = newBook("book1", List.of("Leo Tolstoy"), "Novel");
+        Book secondBook = newBook("book2", List.of("Leo Tolstoy"), "Novel");
+
+        Author author = new Author(3, "Leo Tolstoy");
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of(author));
+        givenExistingReferencesExceptAuthors(new Publisher(35, "publisher", "postalCode", "address"));
+        given(entityManager.getReference(Author.class, 3))
+                .willReturn(author);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            referenceResolver.resolve(List.of(firstBook));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //when
+        referenceResolver.resolve(List.of(secondBook));
+        //then
+        then(authorRepository)
+                .should(times(1))
+                .findByNameIn(any());
+        assertThat(secondBook.getAuthors())
+                .containsExactly(author);
+    }
+
+    @Test
+    public void testResolveShouldNotCacheTheIdsInsertedInATransactionThatRollsBack() {
+        //given
+        Book firstBook = newBook("book1", List.of("Leo Tolstoy"), "Novel");
+        Book secondBook = newBook("book2", List.of("Leo Tolstoy"), "Novel");
+
+        Author insertedAuthor = new Author(7, "Leo Tolstoy");
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of())
+                .willReturn(List.of(insertedAuthor))
+                .willReturn(List.of())
+                .willReturn(List.of(new Author(8, "Leo Tolstoy")));
+        givenExistingReferencesExceptAuthors(new Publisher(35, "publisher", "postalCode", "address"));
+        given(entityManager.getReference(Author.class, 7))
+                .willReturn(insertedAuthor);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            referenceResolver.resolve(List.of(firstBook));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //when
+        referenceResolver.resolve(List.of(secondBook));
+        //then
+        then(referenceUpserter)
+                .should(times(2))
+                .insertAllIfAbsent("author", "author_seq", List.of(Map.of("name", "Leo Tolstoy")));
+        then(entityManager)
+                .should(times(1))
+                .getReference(Author.class, 8);
+    }
+
+    @Test
+    public void testResolveShouldInsertTheReferencesThatDoNotMatchTheWholeNaturalKey() {
+        //given
+        Book book = newBook("book1", List.of("Leo Tolstoy"), "Novel");
+
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of(new Author(3, "Leo Tolstoy")));
+        given(editorRepository.findByNameIn(any()))
+                .willReturn(List.of(new Editor(12, "editorRole", "editorName")));
+        given(genreRepository.findByNameIn(any()))
+                .willReturn(List.of(new Genre(145, "Novel")));
+        given(printingHouseRepository.findByNameIn(any()))
+                .willReturn(List.of(new PrintingHouse(8, "printingHouse", "postalCode", "address")));
+
+        Publisher insertedPublisher = new Publisher(36, "publisher", "postalCode", "address");
+        given(publisherRepository.findByNameIn(any()))
+                .willReturn(List.of(new Publisher(35, "publisher", "postalCode", "another address")))
+                .willReturn(List.of(new Publisher(35, "publisher", "postalCode", "another address"), insertedPublisher));
+        given(entityManager.getReference(Publisher.class, 36))
+                .willReturn(insertedPublisher);
+        //when
+        referenceResolver.resolve(List.of(book));
+        //then
+        then(referenceUpserter)
+                .should(times(1))
+                .insertAllIfAbsent("publisher", "publisher_seq", List.of(Map.of("name", "publisher", "postal_code", "postalCode", "address", "address")));
+        assertThat(book.getPublisher())
+                .isSameAs(insertedPublisher);
+    }
+
+    @Test
+    public void testResolveShouldInsertAllMissingReferencesOfTheBatchAtOnce() {
+        //given
+        Book firstBook = newBook("book1", List.of("Leo Tolstoy"), "Novel");
+        Book secondBook = newBook("book2", List.of("Anton Chekhov"), "Novel");
+
+        Author firstInsertedAuthor = new Author(7, "Leo Tolstoy");
+        Author secondInsertedAuthor = new Author(8, "Anton Chekhov");
+        given(authorRepository.findByNameIn(any()))
+                .willReturn(List.of())
+                .willReturn(List.of(firstInsertedAuthor, secondInsertedAuthor));
+        givenExistingReferencesExceptAuthors(new Publisher(35, "publisher", "postalCode", "address"));
+        given(entityManager.getReference(Author.class, 7))
+                .willReturn(firstInsertedAuthor);
+        given(entityManager.getReference(Author.class, 8))
+                .willReturn(secondInsertedAuthor);
+        //when
+        referenceResolver.resolve(List.of(firstBook, secondBook));
+        //then
+        then(referenceUpserter)
+                .should(times(1))
+                .insertAllIfAbsent("author", "author_seq", List.of(Map.of("name", "Leo Tolstoy"), Map.of("name", "Anton Chekhov")));
+        then(authorRepository)
+                .should(times(2))
+                .findByNameIn(any());
+        assertThat(firstBook.getAuthors())
+                .containsExactly(firstInsertedAuthor);
+        assertThat(secondBook.getAuthors())
+                .containsExactly(secondInsertedAuthor);
+    }
+
+    private void givenExistingReferencesExceptAuthors(Publisher publisher) {
+        given(editorRepository.findByNameIn(any()))
+                .willReturn(List.of(new Editor(12, "editorRole", "editorName")));
+        given(genreRepository.findByNameIn(any()))
+                .willReturn(List.of(new Genre(145, "Novel")));
+        given(publisherRepository.findByNameIn(any()))
+                .willReturn(List.of(publisher));
+        given(printingHouseRepository.findByNameIn(any()))
+                .willReturn(List.of(new PrintingHouse(8, "printingHouse", "postalCode", "address")));
+    }
+
+    private Book newBook(String title, List<String> authorNames, String genreName) {
+        List<Author> authors = authorNames.stream()
+                .map(Author::new)
+                .toList();
+        return new Book(null, title, authors, List.of(new Editor(null, "editorRole", "editorName")), new Genre(null, genreName), new Publisher(null, "publisher", "postalCode", "address"), new PrintingHouse(null, "printingHouse", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12, false);
+    }
+}
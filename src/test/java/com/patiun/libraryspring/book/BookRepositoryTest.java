@@ -99,4 +99,48 @@ public class BookRepositoryTest {
         assertThat(actualResult)
                 .isEmpty();
     }
+
+    @Test
+    public void testFindCatalogPageShouldReturnTheBooksAfterTheCursorOrderedByIdWhenSortingById() {
+        //given
+        Book firstBook = new Book(null, "book1", List.of(new Author("author1")), List.of(new Editor(null, "editorRole1", "editorName1")), new Genre(null, "genre1"), new Publisher(null, "publisher1", "publisherPostalCode1", "publihserAddress1"), new PrintingHouse(null, "printingHouse1", "printingHousePostalCode1", "printingHouseAddress1"), 2003, "Minsk", "description1", 20, "3298614390153", "80.7", "33.4", "B1", 12, false);
+        entityManager.persist(firstBook);
+
+        Book secondBook = new Book(null, "book2", List.of(new Author("author2")), List.of(new Editor(null, "editorRole2", "editorName2")), new Genre(null, "genre2"), new Publisher(null, "publisher2", "publisherPostalCode2", "publihserAddress2"), new PrintingHouse(null, "printingHouse2", "printingHousePostalCode2", "printingHouseAddress2"), 1998, "Minsk", "description2", 230, "3298614230153", "81.7", "23.4", "B2", 9, false);
+        entityManager.persist(secondBook);
+
+        Book thirdBook = new Book(null, "book3", List.of(new Author("author3")), List.of(new Editor(null, "editorRole3", "editorName3")), new Genre(null, "genre3"), new Publisher(null, "publisher3", "publisherPostalCode3", "publihserAddress3"), new PrintingHouse(null, "printingHouse3", "printingHousePostalCode3", "printingHouseAddress3"), 1995, "Minsk", "description3", 60, "3123614390153", "70.7", "33.6", "B3", 8, false);
+        entityManager.persist(thirdBook);
+
+        entityManager.flush();
+
+        BookCatalogCursor cursor = new BookCatalogCursor(BookCatalogSort.ID, firstBook.getId(), null);
+        //when
+        List<BookListView> actualResult = bookRepository.findCatalogPage(new BookCatalogFilter(), BookCatalogSort.ID, cursor, 1);
+        //then
+        assertThat(actualResult)
+                .extracting(BookListView::id)
+                .containsExactly(secondBook.getId());
+    }
+
+    @Test
+    public void testFindCatalogPageShouldReturnOnlyTheBooksMatchingTheFilterWhenFilterIsGiven() {
+        //given
+        Book firstBook = new Book(null, "book1", List.of(new Author("author1")), List.of(new Editor(null, "editorRole1", "editorName1")), new Genre(null, "genre1"), new Publisher(null, "publisher1", "publisherPostalCode1", "publihserAddress1"), new PrintingHouse(null, "printingHouse1", "printingHousePostalCode1", "printingHouseAddress1"), 2003, "Minsk", "description1", 20, "3298614390153", "80.7", "33.4", "B1", 12, false);
+        entityManager.persist(firstBook);
+
+        entityManager.persist(new Book(null, "book2", List.of(new Author("author2")), List.of(new Editor(null, "editorRole2", "editorName2")), new Genre(null, "genre2"), new Publisher(null, "publisher2", "publisherPostalCode2", "publihserAddress2"), new PrintingHouse(null, "printingHouse2", "printingHousePostalCode2", "printingHouseAddress2"), 1998, "Minsk", "description2", 230, "3298614230153", "81.7", "23.4", "B2", 0, false));
+
+        entityManager.persist(new Book(null, "book3", List.of(new Author("author3")), List.of(new Editor(null, "editorRole3", "editorName3")), new Genre(null, "genre3"), new Publisher(null, "publisher3", "publisherPostalCode3", "publihserAddress3"), new PrintingHouse(null, "printingHouse3", "printingHousePostalCode3", "printingHouseAddress3"), 1995, "Minsk", "description3", 60, "3123614390153", "70.7", "33.6", "B3", 8, false));
+
+        entityManager.flush();
+
+        BookCatalogFilter filter = new BookCatalogFilter(null, null, 1996, null, true);
+        //when
+        List<BookListView> actualResult = bookRepository.findCatalogPage(filter, BookCatalogSort.TITLE, null, 10);
+        //then
+        assertThat(actualResult)
+                .extracting(BookListView::id)
+                .containsExactly(firstBook.getId());
+    }
 }
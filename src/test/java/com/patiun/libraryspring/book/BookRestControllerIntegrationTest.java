@@ -453,6 +453,13 @@ public class BookRestControllerIntegrationTest {
                 .andExpect(content().string(""));
     }
 
+    @Test
+    public void testExportBooksShouldReturnUnauthorizedWhenTheRequestIsNotAuthenticated() throws Exception {
+        //then
+        mvc.perform(get(BASE_URL + "/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     public void testReadBookShouldReturnNotFoundAndEmptyBodyWhenTheTargetBookIsDeleted() throws Exception {
         //given
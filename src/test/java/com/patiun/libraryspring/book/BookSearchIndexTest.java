@@ -0,0 +1,96 @@
+package com.patiun.libraryspring.book;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BookSearchIndex searchIndex;
+
+    @Test
+    public void testTokenizeShouldLowercaseTheTextAndStripDiacritics() {
+        //when
+        List<String> actualTokens = BookSearchIndex.tokenize("\u00c9mile Zola: Th\u00e9r\u00e8se Raquin");
+        //then
+        assertThat(actualTokens)
+                .containsExactly("emile", "zola", "therese", "raquin");
+    }
+
+    @Test
+    public void testSearchShouldRankTheBookWithTheMatchingTitleFirstWhenSeveralBooksMatch() {
+        //given
+        searchIndex.indexBook(newBook(1, "Anna Karenina", "Leo Tolstoy", "A novel about Russian society"));
+        searchIndex.indexBook(newBook(2, "War and Peace", "Leo Tolstoy", "A novel about Anna Pavlovna's salon"));
+        searchIndex.indexBook(newBook(3, "Crime and Punishment", "Fyodor Dostoevsky", "A novel about guilt"));
+        //when
+        List<Integer> actualResult = searchIndex.search("anna", 10);
+        //then
+        assertThat(actualResult)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    public void testSearchShouldNotReturnTheBookWhenTheBookWasRemoved() {
+        //given
+        searchIndex.indexBook(newBook(1, "Anna Karenina", "Leo Tolstoy", "A novel about Russian society"));
+        searchIndex.indexBook(newBook(2, "War and Peace", "Leo Tolstoy", "A novel about the Napoleonic wars"));
+        searchIndex.removeBook(1);
+        //when
+        List<Integer> actualResult = searchIndex.search("tolstoy", 10);
+        //then
+        assertThat(actualResult)
+                .containsExactly(2);
+    }
+
+    @Test
+    public void testSearchShouldReturnAtMostTheLimitOfBooksWhenMoreBooksMatch() {
+        //given
+        searchIndex.indexBook(newBook(1, "Anna Karenina", "Leo Tolstoy", "description"));
+        searchIndex.indexBook(newBook(2, "War and Peace", "Leo Tolstoy", "description"));
+        searchIndex.indexBook(newBook(3, "Resurrection", "Leo Tolstoy", "description"));
+        //when
+        List<Integer> actualResult = searchIndex.search("L\u00e9o", 2);
+        //then
+        assertThat(actualResult)
+                .hasSize(2);
+    }
+
+    @Test
+    public void testRebuildShouldReplaceTheIndexWithTheStoredBooksAndTheirContributors() {
+        //given
+        searchIndex.indexBook(newBook(2, "War and Peace", "Leo Tolstoy", "description"));
+        given(bookRepository.streamAllDetailViews())
+                .willReturn(Stream.of(new BookDetailView(1, "Anna Karenina", 1, "genre", 1, "publisher", "postalCode", "address", 1, "printingHouse", "postalCode", "address", 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 12, 0)));
+        given(bookRepository.findAuthorViewsByBookIdIn(List.of(1)))
+                .willReturn(List.of(new BookAuthorView(1, 10, "Leo Tolstoy")));
+        given(bookRepository.findEditorViewsByBookIdIn(List.of(1)))
+                .willReturn(List.of());
+        //when
+        searchIndex.rebuild();
+        //then
+        assertThat(searchIndex.search("tolstoy", 10))
+                .containsExactly(1);
+    }
+
+    private Book newBook(Integer id, String title, String author, String description) {
+        return new Book(id, title, List.of(new Author(author)), List.of(new Editor(null, "editorRole", "editorName")), new Genre(null, "genre"), new Publisher(null, "publisher", "postalCode", "address"), new PrintingHouse(null, "printingHouse", "postalCode", "address"), 2003, "Minsk", description, 20, "3298614390153", "80.7", "33.4", "B1", 12, false);
+    }
+}
@@ -0,0 +1,107 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(3);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch hashingReleased = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void releaseHashing() {
+        hashingReleased.countDown();
+        callers.shutdownNow();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void testEncodeShouldReturnTheDelegateEncodingWhenThePoolHasCapacity() {
+        //given
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, WAIT_TIMEOUT, RETRY_AFTER, meterRegistry);
+        hashingReleased.countDown();
+        //when
+        String encodedPassword = passwordEncoder.encode("password");
+        //then
+        assertThat(encodedPassword)
+                .isEqualTo("encoded:password");
+        assertThat(passwordEncoder.matches("password", encodedPassword))
+                .isTrue();
+    }
+
+    @Test
+    public void testEncodeShouldThrowServiceUnavailableExceptionWhenThePoolAndQueueAreFull() throws Exception {
+        //given
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, WAIT_TIMEOUT, RETRY_AFTER, meterRegistry);
+        callers.submit(() -> passwordEncoder.encode("running"));
+        callers.submit(() -> passwordEncoder.encode("queued"));
+        awaitQueuedHashing();
+        //when
+        //then
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(cause -> ((ServiceUnavailableException) cause).getRetryAfter())
+                .isEqualTo(RETRY_AFTER);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testEncodeShouldThrowServiceUnavailableExceptionWhenTheHashingTakesLongerThanTheWaitTimeout() {
+        //given
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, Duration.ofMillis(50), RETRY_AFTER, meterRegistry);
+        //when
+        //then
+        assertThatThrownBy(() -> passwordEncoder.encode("stuck"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.get("password.hashing.timed-out").counter().count())
+                .isEqualTo(1);
+    }
+
+    private void awaitQueuedHashing() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The second hashing request was never queued");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                hashingReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("encoded:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.user.TokenEpochCache;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import com.patiun.libraryspring.user.UserTokensRevokedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingDaoAuthenticationProviderTest {
+
+    private static final String LOGIN = "reader";
+    private static final String PASSWORD = "password";
+    private static final String ENCODED_PASSWORD = "encodedPassword";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TokenEpochCache tokenEpochCache;
+
+    private VerifiedCredentialsCache verifiedCredentialsCache;
+
+    private CachingDaoAuthenticationProvider authenticationProvider;
+
+    private final User user = new User(5, LOGIN, ENCODED_PASSWORD, "first", "last", false, true, UserRole.READER);
+
+    @BeforeEach
+    public void createProvider() {
+        verifiedCredentialsCache = new VerifiedCredentialsCache(tokenEpochCache, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        authenticationProvider = new CachingDaoAuthenticationProvider(verifiedCredentialsCache);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @Test
+    public void testAuthenticateShouldVerifyThePasswordOnlyOnceWhenTheSameCredentialsArePresentedRepeatedly() {
+        //given
+        given(userDetailsService.loadUserByUsername(LOGIN))
+                .willReturn(user);
+        given(passwordEncoder.matches(PASSWORD, ENCODED_PASSWORD))
+                .willReturn(true);
+        given(tokenEpochCache.isCurrent(user.getId(), user.getTokenEpoch()))
+                .willReturn(true);
+        //when
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        Authentication repeatedAuthentication = authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        //then
+        assertThat(repeatedAuthentication.getPrincipal())
+                .isInstanceOfSatisfying(User.class, principal -> {
+                    assertThat(principal.getId())
+                            .isEqualTo(user.getId());
+                    assertThat(principal.getPassword())
+                            .isNull();
+                });
+        assertThat(repeatedAuthentication.isAuthenticated())
+                .isTrue();
+        then(passwordEncoder)
+                .should(times(1))
+                .matches(PASSWORD, ENCODED_PASSWORD);
+    }
+
+    @Test
+    public void testAuthenticateShouldVerifyThePasswordAgainWhenTheUserCredentialsWereRevoked() {
+        //given
+        given(userDetailsService.loadUserByUsername(LOGIN))
+                .willReturn(user);
+        given(passwordEncoder.matches(PASSWORD, ENCODED_PASSWORD))
+                .willReturn(true);
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        //when
+        verifiedCredentialsCache.onUserTokensRevoked(new UserTokensRevokedEvent(user.getId(), 1));
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        //then
+        then(passwordEncoder)
+                .should(times(2))
+                .matches(PASSWORD, ENCODED_PASSWORD);
+    }
+
+    @Test
+    public void testAuthenticateShouldVerifyThePasswordAgainWhenTheUserTokenEpochIsNoLongerCurrent() {
+        //given
+        given(userDetailsService.loadUserByUsername(LOGIN))
+                .willReturn(user);
+        given(passwordEncoder.matches(PASSWORD, ENCODED_PASSWORD))
+                .willReturn(true);
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        given(tokenEpochCache.isCurrent(user.getId(), user.getTokenEpoch()))
+                .willReturn(false);
+        //when
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        //then
+        then(passwordEncoder)
+                .should(times(2))
+                .matches(PASSWORD, ENCODED_PASSWORD);
+    }
+
+    @Test
+    public void testAuthenticateShouldNotCacheCredentialsWhenThePasswordDoesNotMatch() {
+        //given
+        given(userDetailsService.loadUserByUsername(LOGIN))
+                .willReturn(user);
+        given(passwordEncoder.matches(PASSWORD, ENCODED_PASSWORD))
+                .willReturn(false);
+        //when
+        //then
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD)))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD)))
+                .isInstanceOf(BadCredentialsException.class);
+        then(passwordEncoder)
+                .should(times(2))
+                .matches(PASSWORD, ENCODED_PASSWORD);
+    }
+}
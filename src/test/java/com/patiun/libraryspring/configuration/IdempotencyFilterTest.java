@@ -0,0 +1,118 @@
+package com.patiun.libraryspring.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTest {
+
+    private static final String KEY = "4f1c2b9e";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new IdempotencyFilter(100, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testDoFilterShouldReplayTheStoredResponseWhenTheKeyHasAlreadyBeenUsed() throws Exception {
+        //given
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            response.getWriter().write("created");
+        };
+        filter.doFilter(newRequest(KEY), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse replayedResponse = new MockHttpServletResponse();
+        //when
+        filter.doFilter(newRequest(KEY), replayedResponse, chain);
+        //then
+        assertThat(executions.get())
+                .isEqualTo(1);
+        assertThat(replayedResponse.getContentAsString())
+                .isEqualTo("created");
+        assertThat(replayedResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER))
+                .isEqualTo("true");
+    }
+
+    @Test
+    public void testDoFilterShouldExecuteTheRequestAgainWhenThePreviousAttemptFailed() throws Exception {
+        //given
+        FilterChain chain = (request, response) -> {
+            if (executions.incrementAndGet() == 1) {
+                ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            }
+        };
+        filter.doFilter(newRequest(KEY), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse retriedResponse = new MockHttpServletResponse();
+        //when
+        filter.doFilter(newRequest(KEY), retriedResponse, chain);
+        //then
+        assertThat(executions.get())
+                .isEqualTo(2);
+        assertThat(retriedResponse.getStatus())
+                .isEqualTo(HttpServletResponse.SC_OK);
+    }
+
+    @Test
+    public void testDoFilterShouldCollapseConcurrentDuplicatesIntoOneExecution() throws Exception {
+        //given
+        CountDownLatch firstExecutionStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstExecution = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            firstExecutionStarted.countDown();
+            try {
+                releaseFirstExecution.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.getWriter().write("created");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        MockHttpServletResponse duplicateResponse = new MockHttpServletResponse();
+        //when
+        Future<?> first = executor.submit(() -> {
+            filter.doFilter(newRequest(KEY), firstResponse, chain);
+            return null;
+        });
+        firstExecutionStarted.await(5, TimeUnit.SECONDS);
+        Future<?> duplicate = executor.submit(() -> {
+            filter.doFilter(newRequest(KEY), duplicateResponse, chain);
+            return null;
+        });
+        releaseFirstExecution.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        duplicate.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        //then
+        assertThat(executions.get())
+                .isEqualTo(1);
+        assertThat(duplicateResponse.getContentAsString())
+                .isEqualTo(firstResponse.getContentAsString())
+                .isEqualTo("created");
+    }
+
+    private MockHttpServletRequest newRequest(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders/5");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.patiun.libraryspring.configuration;
+
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtServiceTest {
+
+    private static final String KEY = "57AED715FF2956199F956BA682A44CB7CBBF54F98BAE7E07D75F7B0C976EAFE8";
+    private static final String OTHER_KEY = "0F6E1A2B3C4D5E6F708192A3B4C5D6E7F8091A2B3C4D5E6F708192A3B4C5D6E7";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testExtractTokenClaimsShouldReturnTheClaimsOfTheGeneratedToken() {
+        //given
+        JwtService jwtService = new JwtService(KEY, 60_000, 100, meterRegistry);
+        User user = new User(7, "librarian", "password", "first", "last", false, true, UserRole.LIBRARIAN);
+        user.setTokenEpoch(2);
+        String token = jwtService.generateToken(user);
+        //when
+        JwtClaims claims = jwtService.extractTokenClaims(token);
+        //then
+        assertThat(claims.userId())
+                .isEqualTo(7);
+        assertThat(claims.login())
+                .isEqualTo("librarian");
+        assertThat(claims.role())
+                .isEqualTo(UserRole.LIBRARIAN);
+        assertThat(claims.tokenEpoch())
+                .isEqualTo(2);
+        assertThat(claims.isComplete())
+                .isTrue();
+    }
+
+    @Test
+    public void testExtractTokenClaimsShouldVerifyEachTokenOnlyOnceWhenItIsPresentedRepeatedly() {
+        //given
+        JwtService jwtService = new JwtService(KEY, 60_000, 100, meterRegistry);
+        String token = jwtService.generateToken(new User(7, "reader", "password", "first", "last", false, true, UserRole.READER));
+        //when
+        JwtClaims firstClaims = jwtService.extractTokenClaims(token);
+        JwtClaims secondClaims = jwtService.extractTokenClaims(token);
+        //then
+        assertThat(secondClaims)
+                .isSameAs(firstClaims);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testExtractTokenClaimsShouldThrowSignatureExceptionWhenTheTokenWasSignedWithAnotherKey() {
+        //given
+        JwtService jwtService = new JwtService(KEY, 60_000, 100, meterRegistry);
+        String foreignToken = new JwtService(OTHER_KEY, 60_000, 100, new SimpleMeterRegistry())
+                .generateToken(new User(7, "reader", "password", "first", "last", false, true, UserRole.READER));
+        //when
+        //then
+        assertThatThrownBy(() -> jwtService.extractTokenClaims(foreignToken))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    public void testExtractTokenClaimsShouldThrowExpiredJwtExceptionWhenTheTokenHasExpired() {
+        //given
+        JwtService jwtService = new JwtService(KEY, -60_000, 100, meterRegistry);
+        String expiredToken = jwtService.generateToken(new User(7, "reader", "password", "first", "last", false, true, UserRole.READER));
+        //when
+        //then
+        assertThatThrownBy(() -> jwtService.extractTokenClaims(expiredToken))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
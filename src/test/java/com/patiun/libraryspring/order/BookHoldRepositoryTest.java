@@ -0,0 +1,54 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+public class BookHoldRepositoryTest {
+
+    private final TestEntityManager entityManager;
+
+    private final BookHoldRepository holdRepository;
+
+    @Autowired
+    public BookHoldRepositoryTest(TestEntityManager entityManager, BookHoldRepository holdRepository) {
+        this.entityManager = entityManager;
+        this.holdRepository = holdRepository;
+    }
+
+    @Test
+    public void testFindViewsByUserIdShouldReturnTheQueuePositionsOfTheUserHoldsWhenSuchHoldsExist() {
+        //given
+        User targetUser = entityManager.persist(new User(null, "reader1", "password", "first", "last", false, true, UserRole.READER));
+        User secondaryUser = entityManager.persist(new User(null, "reader2", "password", "first", "last", false, true, UserRole.READER));
+        Book firstBook = entityManager.persist(newBook("book1", "3298614390153"));
+        Book secondBook = entityManager.persist(newBook("book2", "3298614390154"));
+
+        entityManager.persist(new BookHold(null, firstBook, secondaryUser, RentalType.OUT_OF_LIBRARY, 7, LocalDate.of(2023, 3, 20)));
+        BookHold firstHold = entityManager.persist(new BookHold(null, firstBook, targetUser, RentalType.OUT_OF_LIBRARY, 7, LocalDate.of(2023, 3, 21)));
+        BookHold secondHold = entityManager.persist(new BookHold(null, secondBook, targetUser, RentalType.TO_READING_HALL, 0, LocalDate.of(2023, 3, 22)));
+        entityManager.persist(new BookHold(null, secondBook, secondaryUser, RentalType.OUT_OF_LIBRARY, 7, LocalDate.of(2023, 3, 23)));
+        entityManager.flush();
+        //when
+        List<BookHoldView> actualResult = holdRepository.findViewsByUserId(targetUser.getId());
+        //then
+        assertThat(actualResult)
+                .extracting(BookHoldView::id, BookHoldView::position)
+                .containsExactly(tuple(firstHold.getId(), 2L), tuple(secondHold.getId(), 1L));
+    }
+
+    private Book newBook(String title, String isbn) {
+        return new Book(null, title, List.of(new Author("author" + title)), List.of(new Editor(null, "editorRole", "editor" + title)), new Genre(null, "genre" + title), new Publisher(null, "publisher" + title, "postalCode", "address"), new PrintingHouse(null, "printingHouse" + title, "postalCode", "address"), 2003, "Minsk", "description", 20, isbn, "80.7", "33.4", "B1", 0, false);
+    }
+}
@@ -0,0 +1,75 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookHoldServiceImplTest {
+
+    @Mock
+    private BookHoldRepository holdRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookHoldServiceImpl holdService;
+
+    @Test
+    public void testPlaceHoldShouldSaveNewHoldWhenTheBookIsOutOfStock() throws ServiceException {
+        //given
+        Book heldBook = newBook(4, 0);
+        given(bookRepository.findForUpdateById(4))
+                .willReturn(Optional.of(heldBook));
+        given(holdRepository.existsByBookIdAndUserId(4, 3))
+                .willReturn(false);
+        //when
+        holdService.placeHold(4, 3, RentalType.OUT_OF_LIBRARY, 14);
+        //then
+        ArgumentCaptor<BookHold> holdCaptor = ArgumentCaptor.forClass(BookHold.class);
+        then(holdRepository)
+                .should(times(1))
+                .save(holdCaptor.capture());
+        BookHold savedHold = holdCaptor.getValue();
+        assertThat(savedHold.getBook())
+                .isEqualTo(heldBook);
+        assertThat(savedHold.getUser().getId())
+                .isEqualTo(3);
+        assertThat(savedHold.getDays())
+                .isEqualTo(14);
+    }
+
+    @Test
+    public void testPlaceHoldShouldThrowServiceExceptionWhenTheBookIsInStock() {
+        //given
+        given(bookRepository.findForUpdateById(4))
+                .willReturn(Optional.of(newBook(4, 2)));
+        //then
+        assertThatThrownBy(() -> holdService.placeHold(4, 3, RentalType.OUT_OF_LIBRARY, 14))
+                .isInstanceOf(ServiceException.class);
+        then(holdRepository)
+                .should(never())
+                .save(any());
+    }
+
+    private Book newBook(Integer id, int amount) {
+        return new Book(id, "War and Peace", List.of(), List.of(), new Genre(1, "Novel"), new Publisher(1, "publisher", "postalCode", "address"), new PrintingHouse(1, "printingHouse", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", amount, false);
+    }
+}
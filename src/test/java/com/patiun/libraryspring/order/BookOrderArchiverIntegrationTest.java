@@ -0,0 +1,90 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRepository;
+import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "order-archive.batch-size=1")
+public class BookOrderArchiverIntegrationTest {
+
+    private final BookOrderArchiver archiver;
+    private final BookOrderService orderService;
+    private final BookOrderRepository orderRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final GenreRepository genreRepository;
+    private final PublisherRepository publisherRepository;
+    private final PrintingHouseRepository printingHouseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Book book;
+    private User reader;
+    private BookOrder recentOrder;
+    private List<BookOrder> oldOrders;
+
+    @Autowired
+    public BookOrderArchiverIntegrationTest(BookOrderArchiver archiver, BookOrderService orderService, BookOrderRepository orderRepository, BookRepository bookRepository, UserRepository userRepository, GenreRepository genreRepository, PublisherRepository publisherRepository, PrintingHouseRepository printingHouseRepository, JdbcTemplate jdbcTemplate) {
+        this.archiver = archiver;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.genreRepository = genreRepository;
+        this.publisherRepository = publisherRepository;
+        this.printingHouseRepository = printingHouseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    public void persistBookAndOrders() {
+        book = bookRepository.save(new Book(null, "Archived Book", List.of(), List.of(), new Genre(null, "Archived genre"), new Publisher(null, "Archived publisher", "postalCode", "address"), new PrintingHouse(null, "Archived printing house", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 3, false));
+        reader = userRepository.save(new User(null, "archivedReader", "password", "first", "last", false, true, UserRole.READER));
+        LocalDate longAgo = LocalDate.now().minusYears(2);
+        oldOrders = List.of(
+                orderRepository.save(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, longAgo, longAgo.plusDays(7), longAgo.plusDays(6), OrderState.BOOK_RETURNED)),
+                orderRepository.save(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, longAgo.plusMonths(2), longAgo.plusMonths(2).plusDays(7), null, OrderState.DECLINED))
+        );
+        recentOrder = orderRepository.save(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, LocalDate.now(), LocalDate.now().plusDays(7), LocalDate.now(), OrderState.BOOK_RETURNED));
+    }
+
+    @AfterEach
+    public void deleteBookAndOrders() {
+        jdbcTemplate.update("delete from book_order_history where user_id = ?", reader.getId());
+        jdbcTemplate.update("delete from book_order where user_id = ?", reader.getId());
+        bookRepository.deleteById(book.getId());
+        userRepository.delete(reader);
+        genreRepository.delete(book.getGenre());
+        publisherRepository.delete(book.getPublisher());
+        printingHouseRepository.delete(book.getPrintingHouse());
+    }
+
+    @Test
+    public void testArchiveShouldMoveOnlyTheOldFinishedOrdersToTheHistoryInBatches() throws ServiceException {
+        //given
+        BookOrderQueueFilter readerFilter = new BookOrderQueueFilter(null, null, null, null, reader.getId(), null);
+        //when
+        archiver.archive();
+        //then
+        assertThat(orderService.getOrderQueuePage(readerFilter, null, null).getOrders())
+                .extracting(BookOrderView::id)
+                .containsExactly(recentOrder.getId());
+        assertThat(orderService.getOrderQueuePageIncludingHistory(readerFilter, null, null).getOrders())
+                .extracting(BookOrderView::id)
+                .containsExactlyInAnyOrder(oldOrders.get(0).getId(), oldOrders.get(1).getId(), recentOrder.getId());
+        assertThat(orderService.getOrderById(oldOrders.get(0).getId()).state())
+                .isEqualTo(oldOrders.get(0).getState());
+    }
+}
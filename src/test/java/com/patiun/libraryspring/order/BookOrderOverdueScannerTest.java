@@ -0,0 +1,92 @@
+package com.patiun.libraryspring.order;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookOrderOverdueScannerTest {
+
+    @Mock
+    private BookOrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookOrderOverdueScanner overdueScanner;
+
+    @Test
+    public void testScanShouldPublishTheOverdueOrdersWhenRunForTheFirstTime() {
+        //given
+        LocalDate currentDate = LocalDate.now();
+        BookOrderView overdueOrder = newOrderView(1, 5, currentDate.minusDays(3));
+        given(orderRepository.findViewsByStateAndEndDateBefore(OrderState.BOOK_TAKEN, currentDate))
+                .willReturn(List.of(overdueOrder));
+        //when
+        overdueScanner.scan();
+        //then
+        assertThat(overdueScanner.getOverdueOrders())
+                .containsExactly(overdueOrder);
+        then(eventPublisher)
+                .should(times(1))
+                .publishEvent(new BookOrdersOverdueEvent(List.of(overdueOrder)));
+    }
+
+    @Test
+    public void testScanShouldNotQueryTheOrdersAgainWhenTheDateHasAlreadyBeenScanned() {
+        //given
+        LocalDate currentDate = LocalDate.now();
+        given(orderRepository.findViewsByStateAndEndDateBefore(OrderState.BOOK_TAKEN, currentDate))
+                .willReturn(List.of());
+        overdueScanner.scan();
+        //when
+        overdueScanner.scan();
+        //then
+        then(orderRepository)
+                .should(times(1))
+                .findViewsByStateAndEndDateBefore(any(), any());
+        then(orderRepository)
+                .should(never())
+                .findViewsByStateAndEndDateBetween(any(), any(), any());
+        then(eventPublisher)
+                .should(never())
+                .publishEvent(any());
+    }
+
+    @Test
+    public void testOnOrderStateChangedShouldForgetTheOverdueOrderWhenItsBookIsReturned() {
+        //given
+        LocalDate currentDate = LocalDate.now();
+        BookOrderView returnedOrder = newOrderView(1, 5, currentDate.minusDays(3));
+        BookOrderView overdueOrder = newOrderView(2, 6, currentDate.minusDays(1));
+        given(orderRepository.findViewsByStateAndEndDateBefore(OrderState.BOOK_TAKEN, currentDate))
+                .willReturn(List.of(returnedOrder, overdueOrder));
+        overdueScanner.scan();
+        //when
+        overdueScanner.onOrderStateChanged(new BookOrderStateChangedEvent(1, 1, RentalType.OUT_OF_LIBRARY, OrderState.BOOK_TAKEN, OrderState.BOOK_RETURNED, returnedOrder.endDate(), LocalDateTime.now()));
+        //then
+        assertThat(overdueScanner.getOverdueOrders())
+                .containsExactly(overdueOrder);
+        assertThat(overdueScanner.getOverdueOrdersOfUser(5))
+                .isEmpty();
+    }
+
+    private BookOrderView newOrderView(Integer id, Integer userId, LocalDate endDate) {
+        return new BookOrderView(id, 1, "title", 0, userId, "login", "firstName", "lastName", RentalType.OUT_OF_LIBRARY, endDate.minusDays(7), endDate, null, OrderState.BOOK_TAKEN, 0);
+    }
+}
@@ -91,4 +91,44 @@ public class BookOrderRepositoryTest {
                 .isEmpty();
     }
 
+    @Test
+    public void testFindQueuePageShouldReturnTheOrdersOldestFirstAfterTheCursorWhenCursorIsGiven() {
+        //given
+        User user = entityManager.persist(new User(null, "reader", "password", "first", "last", false, true, UserRole.READER));
+        Book book = entityManager.persist(new Book(null, "book1", List.of(new Author("author1")), List.of(new Editor(null, "editorRole1", "editorName1")), new Genre(null, "genre1"), new Publisher(null, "publisher1", "publisherPostalCode1", "publisherAddress1"), new PrintingHouse(null, "printingHouse1", "printingHousePostalCode1", "printingHouseAddress1"), 2003, "Minsk", "description1", 20, "3298614390153", "80.7", "33.4", "B1", 12, false));
+
+        BookOrder newestOrder = entityManager.persist(new BookOrder(null, book, user, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 8), null, OrderState.PLACED));
+        BookOrder oldestOrder = entityManager.persist(new BookOrder(null, book, user, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 8), null, OrderState.PLACED));
+        BookOrder middleOrder = entityManager.persist(new BookOrder(null, book, user, RentalType.TO_READING_HALL, LocalDate.of(2023, 3, 15), LocalDate.of(2023, 3, 15), null, OrderState.PLACED));
+        entityManager.flush();
+
+        BookOrderQueueCursor cursor = new BookOrderQueueCursor(oldestOrder.getStartDate(), oldestOrder.getId());
+        //when
+        List<BookOrderView> actualResult = orderRepository.findQueuePage(new BookOrderQueueFilter(), cursor, 10);
+        //then
+        assertThat(actualResult)
+                .extracting(BookOrderView::id)
+                .containsExactly(middleOrder.getId(), newestOrder.getId());
+    }
+
+    @Test
+    public void testFindQueuePageShouldReturnOnlyTheOrdersMatchingTheFilterWhenFilterIsGiven() {
+        //given
+        User user = entityManager.persist(new User(null, "reader", "password", "first", "last", false, true, UserRole.READER));
+        Book book = entityManager.persist(new Book(null, "book1", List.of(new Author("author1")), List.of(new Editor(null, "editorRole1", "editorName1")), new Genre(null, "genre1"), new Publisher(null, "publisher1", "publisherPostalCode1", "publisherAddress1"), new PrintingHouse(null, "printingHouse1", "printingHousePostalCode1", "printingHouseAddress1"), 2003, "Minsk", "description1", 20, "3298614390153", "80.7", "33.4", "B1", 12, false));
+
+        BookOrder placedOrder = entityManager.persist(new BookOrder(null, book, user, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 3, 10), LocalDate.of(2023, 3, 17), null, OrderState.PLACED));
+        entityManager.persist(new BookOrder(null, book, user, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 3, 11), LocalDate.of(2023, 3, 18), null, OrderState.APPROVED));
+        entityManager.persist(new BookOrder(null, book, user, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 8), null, OrderState.PLACED));
+        entityManager.flush();
+
+        BookOrderQueueFilter filter = new BookOrderQueueFilter(OrderState.PLACED, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 3, 1), null, user.getId(), book.getId());
+        //when
+        List<BookOrderView> actualResult = orderRepository.findQueuePage(filter, null, 10);
+        //then
+        assertThat(actualResult)
+                .extracting(BookOrderView::id)
+                .containsExactly(placedOrder.getId());
+    }
+
 }
@@ -2,6 +2,8 @@ package com.patiun.libraryspring.order;
 
 import com.patiun.libraryspring.configuration.JwtAuthFilter;
 import com.patiun.libraryspring.exception.ElementNotFoundException;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
@@ -9,11 +11,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -30,6 +34,9 @@ public class BookOrderRestControllerTest {
     @MockBean
     private BookOrderService service;
 
+    @MockBean
+    private BookOrderOverdueScanner overdueScanner;
+
     private final MockMvc mvc;
 
     @Autowired
@@ -93,4 +100,18 @@ public class BookOrderRestControllerTest {
                 .andExpect(content().string(""));
     }
 
+    @Test
+    public void testReadAllOrdersShouldRequestTheFirstQueuePageOfTheReaderOrdersWhenTheUserIsAReader() throws Exception {
+        //given
+        User reader = new User(7, "login", "password", "firstName", "lastName", false, true, UserRole.READER);
+        BookOrderQueueFilter expectedFilter = new BookOrderQueueFilter(null, null, null, null, 7, null);
+        //then
+        mvc.perform(get(BASE_URL).principal(new UsernamePasswordAuthenticationToken(reader, null)))
+                .andExpect(status().isOk());
+
+        then(service)
+                .should(times(1))
+                .getOrderQueuePage(expectedFilter, null, null);
+    }
+
 }
@@ -1,15 +1,19 @@
 package com.patiun.libraryspring.order;
 
 import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.exception.ConflictException;
 import com.patiun.libraryspring.exception.ElementNotFoundException;
 import com.patiun.libraryspring.exception.ServiceException;
 import com.patiun.libraryspring.user.User;
 import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -21,21 +25,43 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 public class BookOrderServiceImplTest {
 
+    private static final int TRANSITION_MAX_ATTEMPTS = 3;
+
     @Mock
     private BookOrderRepository orderRepository;
 
+    @Mock
+    private BookOrderHistoryRepository historyRepository;
+
     @Mock
     private BookRepository bookRepository;
 
-    @InjectMocks
+    @Mock
+    private BookHoldRepository holdRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookOrderStateMachine stateMachine;
+
     private BookOrderServiceImpl bookOrderService;
 
+    @BeforeEach
+    public void setUp() {
+        stateMachine = spy(new BookOrderStateMachine(orderRepository, bookRepository, holdRepository, eventPublisher));
+        bookOrderService = new BookOrderServiceImpl(orderRepository, historyRepository, bookRepository, holdRepository, stateMachine);
+        ReflectionTestUtils.setField(bookOrderService, "transitionMaxAttempts", TRANSITION_MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(bookOrderService, "transitionBackoffMillis", 1L);
+    }
+
     @Test
     public void testCreateOrderShouldSaveNewOrderWhenTheBookExists() throws ServiceException {
         //given
@@ -104,6 +130,25 @@ public class BookOrderServiceImplTest {
                 .isInstanceOf(ServiceException.class);
     }
 
+    @Test
+    public void testCreateOrderShouldThrowServiceExceptionWhenOtherReadersAreHoldingTheBook() {
+        //given
+        Integer idOfBookToOrder = 4;
+        Book bookFoundByRepository = new Book(idOfBookToOrder, "Nice Book", List.of(new Author(1, "Nice Author")), new Genre(1, "Interesting genre"), new Publisher(1, "Competent publisher"), 2004, 1, false);
+        given(bookRepository.findById(idOfBookToOrder))
+                .willReturn(Optional.of(bookFoundByRepository));
+        given(holdRepository.existsByBookId(idOfBookToOrder))
+                .willReturn(true);
+
+        Integer orderingUserId = 3;
+        //then
+        assertThatThrownBy(() -> bookOrderService.createOrder(idOfBookToOrder, orderingUserId, RentalType.OUT_OF_LIBRARY, 7))
+                .isInstanceOf(ServiceException.class);
+        then(orderRepository)
+                .should(never())
+                .save(any());
+    }
+
     @Test
     public void testGetAllOrdersShouldReturnAllOrdersFoundByRepository() {
         //given
@@ -164,6 +209,43 @@ public class BookOrderServiceImplTest {
                 .isInstanceOf(ElementNotFoundException.class);
     }
 
+    @Test
+    public void testGetOrderByIdShouldReturnTheArchivedOrderWhenTheOrderHasBeenArchived() {
+        //given
+        Integer orderId = 1;
+        BookOrderView archivedOrder = newOrderView(orderId, LocalDate.of(2022, 3, 22), OrderState.BOOK_RETURNED);
+        given(orderRepository.findViewById(orderId))
+                .willReturn(Optional.empty());
+        given(historyRepository.findViewById(orderId))
+                .willReturn(Optional.of(archivedOrder));
+        //when
+        BookOrderView actualOrder = bookOrderService.getOrderById(orderId);
+        //then
+        assertThat(actualOrder)
+                .isEqualTo(archivedOrder);
+    }
+
+    @Test
+    public void testGetOrderQueuePageIncludingHistoryShouldInterleaveTheLiveAndArchivedOrdersByStartDate() throws ServiceException {
+        //given
+        ReflectionTestUtils.setField(bookOrderService, "maxQueuePageSize", 100);
+        BookOrderQueueFilter filter = new BookOrderQueueFilter(null, null, null, null, 3, null);
+        BookOrderView oldestArchivedOrder = newOrderView(1, LocalDate.of(2022, 3, 22), OrderState.BOOK_RETURNED);
+        BookOrderView archivedOrder = newOrderView(2, LocalDate.of(2022, 5, 22), OrderState.DECLINED);
+        BookOrderView liveOrder = newOrderView(7, LocalDate.of(2022, 4, 22), OrderState.BOOK_TAKEN);
+        given(orderRepository.findQueuePage(filter, null, 3))
+                .willReturn(List.of(liveOrder));
+        given(historyRepository.findQueuePage(filter, null, 3))
+                .willReturn(List.of(oldestArchivedOrder, archivedOrder));
+        //when
+        BookOrderQueuePage page = bookOrderService.getOrderQueuePageIncludingHistory(filter, null, 2);
+        //then
+        assertThat(page.getOrders())
+                .containsExactly(oldestArchivedOrder, liveOrder);
+        assertThat(BookOrderQueueCursor.decode(page.getNextCursor()))
+                .isEqualTo(BookOrderQueueCursor.after(liveOrder));
+    }
+
     @Test
     public void testApproveOrderByIdShouldDecrementBookAmountAndAdvanceStateWhenOrderCanBeApproved() throws ServiceException {
         //given
@@ -177,7 +259,6 @@ public class BookOrderServiceImplTest {
         int publishmentYear = 2014;
         int amount = 16;
         Book orderBook = new Book(targetBookId, title, authors, genre, publisher, publishmentYear, amount, false);
-        Book expectedBookToBeSaved = new Book(targetBookId, title, authors, genre, publisher, publishmentYear, amount - 1, false);
 
         User orderUser = new User(1, "login", "ihiuehgiwreg", "firstName", "lastName", false, UserRole.READER);
 
@@ -189,13 +270,16 @@ public class BookOrderServiceImplTest {
         given(orderRepository.findById(orderId))
                 .willReturn(Optional.of(targetOrder));
 
+        given(bookRepository.decrementAmountById(targetBookId))
+                .willReturn(1);
+
         BookOrder expectedOrderToBeSaved = new BookOrder(orderId, orderBook, orderUser, type, startDate, endDate, null, OrderState.APPROVED);
         //when
         bookOrderService.approveOrderById(1);
         //then
         then(bookRepository)
                 .should(times(1))
-                .save(expectedBookToBeSaved);
+                .decrementAmountById(targetBookId);
 
         then(orderRepository)
                 .should(times(1))
@@ -237,9 +321,15 @@ public class BookOrderServiceImplTest {
         BookOrder targetOrder = new BookOrder(orderId, orderBook, orderUser, type, startDate, endDate, null, OrderState.PLACED);
         given(orderRepository.findById(orderId))
                 .willReturn(Optional.of(targetOrder));
+        given(bookRepository.decrementAmountById(targetBookId))
+                .willReturn(0);
         //then
         assertThatThrownBy(() -> bookOrderService.approveOrderById(orderId))
                 .isInstanceOf(ServiceException.class);
+
+        then(orderRepository)
+                .should(never())
+                .save(any());
     }
 
     @Test
@@ -437,7 +527,6 @@ public class BookOrderServiceImplTest {
         int publishmentYear = 2014;
         int amount = 16;
         Book orderBook = new Book(targetBookId, title, authors, genre, publisher, publishmentYear, amount, false);
-        Book expectedBookToBeSaved = new Book(targetBookId, title, authors, genre, publisher, publishmentYear, amount + 1, false);
 
         User orderUser = new User(1, "login", "ihiuehgiwreg", "firstName", "lastName", false, UserRole.READER);
 
@@ -455,7 +544,7 @@ public class BookOrderServiceImplTest {
         //then
         then(bookRepository)
                 .should(times(1))
-                .save(expectedBookToBeSaved);
+                .incrementAmountById(targetBookId);
 
         then(orderRepository)
                 .should(times(1))
@@ -502,4 +591,39 @@ public class BookOrderServiceImplTest {
                 .isInstanceOf(ServiceException.class);
     }
 
+    @Test
+    public void testApproveOrderByIdShouldRetryTheTransitionWhenTheOrderWasChangedConcurrently() throws ServiceException {
+        //given
+        Integer orderId = 1;
+        willThrow(new ObjectOptimisticLockingFailureException(BookOrder.class, orderId))
+                .willDoNothing()
+                .given(stateMachine)
+                .advance(orderId, OrderState.APPROVED);
+        //when
+        bookOrderService.approveOrderById(orderId);
+        //then
+        then(stateMachine)
+                .should(times(2))
+                .advance(orderId, OrderState.APPROVED);
+    }
+
+    @Test
+    public void testApproveOrderByIdShouldThrowConflictExceptionWhenTheRetriesRunOut() throws ServiceException {
+        //given
+        Integer orderId = 1;
+        willThrow(new ObjectOptimisticLockingFailureException(BookOrder.class, orderId))
+                .given(stateMachine)
+                .advance(orderId, OrderState.APPROVED);
+        //then
+        assertThatThrownBy(() -> bookOrderService.approveOrderById(orderId))
+                .isInstanceOf(ConflictException.class);
+
+        then(stateMachine)
+                .should(times(TRANSITION_MAX_ATTEMPTS))
+                .advance(orderId, OrderState.APPROVED);
+    }
+
+    private BookOrderView newOrderView(Integer id, LocalDate startDate, OrderState state) {
+        return new BookOrderView(id, 4, "title", 0, 3, "login", "firstName", "lastName", RentalType.OUT_OF_LIBRARY, startDate, startDate.plusDays(7), null, state, 0);
+    }
 }
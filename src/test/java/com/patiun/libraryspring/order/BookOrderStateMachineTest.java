@@ -0,0 +1,204 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class BookOrderStateMachineTest {
+
+    @Mock
+    private BookOrderRepository orderRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookHoldRepository holdRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookOrderStateMachine stateMachine;
+
+    @Test
+    public void testAdvanceAllShouldApproveOnlyAsManyOrdersOfABookAsThereAreCopiesInStock() {
+        //given
+        Book book = newBook(2);
+        BookOrder firstOrder = newOrder(1, book, OrderState.PLACED);
+        BookOrder secondOrder = newOrder(2, book, OrderState.PLACED);
+        given(orderRepository.findByIdIn(any()))
+                .willReturn(List.of(firstOrder, secondOrder));
+        given(bookRepository.decreaseAmountById(2, 2))
+                .willReturn(0);
+        given(bookRepository.findAmountById(2))
+                .willReturn(Optional.of(1));
+        given(bookRepository.decreaseAmountById(2, 1))
+                .willReturn(1);
+        //when
+        List<BookOrderTransitionResult> results = stateMachine.advanceAll(List.of(
+                new BookOrderTransition(1, OrderState.APPROVED),
+                new BookOrderTransition(2, OrderState.APPROVED),
+                new BookOrderTransition(3, OrderState.APPROVED)
+        ));
+        //then
+        assertThat(results)
+                .extracting(BookOrderTransitionResult::id, BookOrderTransitionResult::state)
+                .containsExactly(tuple(1, OrderState.APPROVED), tuple(2, null), tuple(3, null));
+        assertThat(firstOrder.getState())
+                .isEqualTo(OrderState.APPROVED);
+        assertThat(secondOrder.getState())
+                .isEqualTo(OrderState.PLACED);
+    }
+
+    @Test
+    public void testAdvanceAllShouldReturnTheCopiesOfABookInOneUpdate() {
+        //given
+        Book book = newBook(2);
+        BookOrder firstOrder = newOrder(1, book, OrderState.BOOK_TAKEN);
+        BookOrder secondOrder = newOrder(2, book, OrderState.BOOK_TAKEN);
+        BookOrder declinedOrder = newOrder(3, book, OrderState.PLACED);
+        given(orderRepository.findByIdIn(any()))
+                .willReturn(List.of(firstOrder, secondOrder, declinedOrder));
+        //when
+        List<BookOrderTransitionResult> results = stateMachine.advanceAll(List.of(
+                new BookOrderTransition(1, OrderState.BOOK_RETURNED),
+                new BookOrderTransition(2, OrderState.BOOK_RETURNED),
+                new BookOrderTransition(3, OrderState.DECLINED)
+        ));
+        //then
+        then(bookRepository)
+                .should(times(1))
+                .increaseAmountById(2, 2);
+        assertThat(results)
+                .extracting(BookOrderTransitionResult::state)
+                .containsExactly(OrderState.BOOK_RETURNED, OrderState.BOOK_RETURNED, OrderState.DECLINED);
+    }
+
+    @Test
+    public void testAdvanceAllShouldPromoteTheOldestHoldsWithTheReturnedCopies() {
+        //given
+        Book book = newBook(2);
+        BookOrder firstOrder = newOrder(1, book, OrderState.BOOK_TAKEN);
+        BookOrder secondOrder = newOrder(2, book, OrderState.BOOK_TAKEN);
+        given(orderRepository.findByIdIn(any()))
+                .willReturn(List.of(firstOrder, secondOrder));
+        given(bookRepository.findAmountById(2))
+                .willReturn(Optional.of(2));
+        BookHold hold = newHold(10, book);
+        given(holdRepository.findByBookIdOrderById(2, PageRequest.ofSize(2)))
+                .willReturn(List.of(hold));
+        //when
+        stateMachine.advanceAll(List.of(
+                new BookOrderTransition(1, OrderState.BOOK_RETURNED),
+                new BookOrderTransition(2, OrderState.BOOK_RETURNED)
+        ));
+        //then
+        ArgumentCaptor<BookOrder> promotedOrderCaptor = ArgumentCaptor.forClass(BookOrder.class);
+        then(orderRepository)
+                .should(times(1))
+                .save(promotedOrderCaptor.capture());
+        BookOrder promotedOrder = promotedOrderCaptor.getValue();
+        assertThat(promotedOrder.getUser())
+                .isEqualTo(hold.getUser());
+        assertThat(promotedOrder.getState())
+                .isEqualTo(OrderState.APPROVED);
+        then(holdRepository)
+                .should(times(1))
+                .delete(hold);
+        then(bookRepository)
+                .should(times(1))
+                .increaseAmountById(2, 2);
+        then(bookRepository)
+                .should(times(1))
+                .decreaseAmountById(2, 1);
+    }
+
+    @Test
+    public void testOnBookChangedShouldPromoteTheOldestHoldsWhenAnUpdateRestocksTheBook() {
+        //given
+        Book book = newBook(2);
+        given(bookRepository.findAmountById(2))
+                .willReturn(Optional.of(3));
+        BookHold hold = newHold(10, book);
+        given(holdRepository.findByBookIdOrderById(2, PageRequest.ofSize(3)))
+                .willReturn(List.of(hold));
+        //when
+        stateMachine.onBookChanged(new BookChangedEvent(2, BookChangeType.UPDATED));
+        //then
+        then(orderRepository)
+                .should(times(1))
+                .save(any(BookOrder.class));
+        then(holdRepository)
+                .should(times(1))
+                .delete(hold);
+        then(bookRepository)
+                .should(times(1))
+                .decreaseAmountById(2, 1);
+    }
+
+    @Test
+    public void testAdvanceAllShouldReportTheTransitionsThatBreakTheOrderStateRules() {
+        //given
+        BookOrder returnedOrder = newOrder(1, newBook(2), OrderState.BOOK_RETURNED);
+        given(orderRepository.findByIdIn(any()))
+                .willReturn(List.of(returnedOrder));
+        //when
+        List<BookOrderTransitionResult> results = stateMachine.advanceAll(List.of(new BookOrderTransition(1, OrderState.BOOK_TAKEN)));
+        //then
+        assertThat(results.get(0).error())
+                .isNotNull();
+        assertThat(returnedOrder.getState())
+                .isEqualTo(OrderState.BOOK_RETURNED);
+    }
+
+    @Test
+    public void testAdvanceAllShouldReportAMissingActionSeparatelyFromAMissingOrder() {
+        //given
+        BookOrder placedOrder = newOrder(1, newBook(2), OrderState.PLACED);
+        given(orderRepository.findByIdIn(any()))
+                .willReturn(List.of(placedOrder));
+        //when
+        List<BookOrderTransitionResult> results = stateMachine.advanceAll(List.of(new BookOrderTransition(1, null), new BookOrderTransition(3, OrderState.APPROVED)));
+        //then
+        assertThat(results)
+                .extracting(BookOrderTransitionResult::error)
+                .containsExactly("Missing action for the order by id = 1", "Could not find an order by id = 3");
+        assertThat(placedOrder.getState())
+                .isEqualTo(OrderState.PLACED);
+    }
+
+    private Book newBook(Integer id) {
+        return new Book(id, "War and Peace", List.of(), List.of(), new Genre(1, "Novel"), new Publisher(1, "publisher", "postalCode", "address"), new PrintingHouse(1, "printingHouse", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 1, false);
+    }
+
+    private BookHold newHold(Integer id, Book book) {
+        User waitingReader = new User(7, "waiting", "password", "firstName", "lastName", false, true, UserRole.READER);
+        return new BookHold(id, book, waitingReader, RentalType.OUT_OF_LIBRARY, 14, LocalDate.of(2023, 3, 25));
+    }
+
+    private BookOrder newOrder(Integer id, Book book, OrderState state) {
+        User reader = new User(1, "login", "password", "firstName", "lastName", false, true, UserRole.READER);
+        return new BookOrder(id, book, reader, RentalType.OUT_OF_LIBRARY, LocalDate.of(2023, 3, 22), LocalDate.of(2023, 3, 29), null, state);
+    }
+}
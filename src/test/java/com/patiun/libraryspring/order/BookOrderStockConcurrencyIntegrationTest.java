@@ -0,0 +1,113 @@
+package com.patiun.libraryspring.order;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.exception.ServiceException;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRepository;
+import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class BookOrderStockConcurrencyIntegrationTest {
+
+    private static final int CONCURRENT_APPROVERS = 64;
+    private static final int COPIES_IN_STOCK = 10;
+
+    private final BookOrderService orderService;
+    private final BookOrderRepository orderRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final GenreRepository genreRepository;
+    private final PublisherRepository publisherRepository;
+    private final PrintingHouseRepository printingHouseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Book book;
+    private User reader;
+    private final List<BookOrder> orders = new ArrayList<>();
+
+    @Autowired
+    public BookOrderStockConcurrencyIntegrationTest(BookOrderService orderService, BookOrderRepository orderRepository, BookRepository bookRepository, UserRepository userRepository, GenreRepository genreRepository, PublisherRepository publisherRepository, PrintingHouseRepository printingHouseRepository, JdbcTemplate jdbcTemplate) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.genreRepository = genreRepository;
+        this.publisherRepository = publisherRepository;
+        this.printingHouseRepository = printingHouseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    public void persistBookAndOrders() {
+        book = bookRepository.save(new Book(null, "Contended Book", List.of(), List.of(), new Genre(null, "Contended genre"), new Publisher(null, "Contended publisher", "postalCode", "address"), new PrintingHouse(null, "Contended printing house", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", COPIES_IN_STOCK, false));
+        reader = userRepository.save(new User(null, "contendingReader", "password", "first", "last", false, true, UserRole.READER));
+        for (int i = 0; i < CONCURRENT_APPROVERS; i++) {
+            orders.add(orderRepository.save(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, LocalDate.now(), LocalDate.now().plusDays(7), null, OrderState.PLACED)));
+        }
+    }
+
+    @AfterEach
+    public void deleteBookAndOrders() {
+        jdbcTemplate.update("delete from order_event where book_id = ?", book.getId());
+        jdbcTemplate.update("delete from circulation_daily where book_id = ?", book.getId());
+        orderRepository.deleteAllById(orders.stream().map(BookOrder::getId).toList());
+        bookRepository.deleteById(book.getId());
+        userRepository.delete(reader);
+        genreRepository.delete(book.getGenre());
+        publisherRepository.delete(book.getPublisher());
+        printingHouseRepository.delete(book.getPrintingHouse());
+    }
+
+    @Test
+    public void testApproveOrderByIdShouldNeverReserveMoreCopiesThanAreInStockWhenApprovedConcurrently() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_APPROVERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger approvedOrders = new AtomicInteger();
+        AtomicInteger rejectedOrders = new AtomicInteger();
+
+        List<Future<?>> approvals = new ArrayList<>();
+        for (BookOrder order : orders) {
+            approvals.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.approveOrderById(order.getId());
+                    approvedOrders.incrementAndGet();
+                } catch (ServiceException e) {
+                    rejectedOrders.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        //when
+        start.countDown();
+        for (Future<?> approval : approvals) {
+            approval.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        //then
+        assertThat(approvedOrders.get())
+                .isEqualTo(COPIES_IN_STOCK);
+        assertThat(rejectedOrders.get())
+                .isEqualTo(CONCURRENT_APPROVERS - COPIES_IN_STOCK);
+        assertThat(bookRepository.findById(book.getId()))
+                .hasValueSatisfying(storedBook -> assertThat(storedBook.getAmount()).isZero());
+        assertThat(orderRepository.findAllById(orders.stream().map(BookOrder::getId).toList()))
+                .filteredOn(order -> order.getState() == OrderState.APPROVED)
+                .hasSize(COPIES_IN_STOCK);
+    }
+}
@@ -0,0 +1,89 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.order.*;
+import com.patiun.libraryspring.user.User;
+import com.patiun.libraryspring.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class CirculationAggregatorTest {
+
+    private final TestEntityManager entityManager;
+
+    private final DailyCirculationRepository circulationRepository;
+
+    private final CirculationAggregator aggregator;
+
+    private final BookOrderHistorySchema historySchema;
+
+    @Autowired
+    public CirculationAggregatorTest(TestEntityManager entityManager, DailyCirculationRepository circulationRepository, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.circulationRepository = circulationRepository;
+        this.aggregator = new CirculationAggregator(circulationRepository, jdbcTemplate);
+        this.historySchema = new BookOrderHistorySchema(jdbcTemplate.getJdbcTemplate());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        historySchema.afterSingletonsInstantiated();
+        aggregator.afterSingletonsInstantiated();
+    }
+
+    @Test
+    public void testOnOrderStateChangedShouldCountOnlyTheTakenCopiesOfTheDayBookAndRentalType() {
+        //given
+        Book book = entityManager.persist(newBook());
+        entityManager.flush();
+        Integer bookId = book.getId();
+        //when
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(1, bookId, RentalType.OUT_OF_LIBRARY, OrderState.APPROVED, OrderState.BOOK_TAKEN, null, LocalDateTime.now()));
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(2, bookId, RentalType.OUT_OF_LIBRARY, OrderState.APPROVED, OrderState.BOOK_TAKEN, null, LocalDateTime.now()));
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(3, bookId, RentalType.TO_READING_HALL, OrderState.APPROVED, OrderState.BOOK_TAKEN, null, LocalDateTime.now()));
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(4, bookId, RentalType.OUT_OF_LIBRARY, OrderState.PLACED, OrderState.APPROVED, null, LocalDateTime.now()));
+        //then
+        LocalDate today = LocalDate.now();
+        assertThat(circulationRepository.findLoansPerRentalType(today, today))
+                .containsExactly(new RentalTypeLoans(RentalType.OUT_OF_LIBRARY, 2L), new RentalTypeLoans(RentalType.TO_READING_HALL, 1L));
+    }
+
+    @Test
+    public void testBackfillShouldRecountThePastDaysByTheTimeTheCopiesWereTakenWithoutAddingToTheLiveCounts() {
+        //given
+        Book book = entityManager.persist(newBook());
+        User reader = entityManager.persist(new User(null, "reader", "password", "first", "last", false, true, UserRole.READER));
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        BookOrder takenYesterday = entityManager.persist(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, today.minusDays(3), today.plusDays(4), null, OrderState.BOOK_TAKEN));
+        BookOrder takenToday = entityManager.persist(new BookOrder(null, book, reader, RentalType.OUT_OF_LIBRARY, yesterday, today.plusDays(7), null, OrderState.BOOK_TAKEN));
+        LocalDateTime yesterdayNoon = yesterday.atTime(12, 0);
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(new BookOrderEvent(null, takenYesterday.getId(), book.getId(), OrderState.APPROVED, OrderState.BOOK_TAKEN, null, yesterdayNoon));
+        entityManager.persist(new BookOrderEvent(null, takenToday.getId(), book.getId(), OrderState.APPROVED, OrderState.BOOK_TAKEN, null, now));
+        entityManager.flush();
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(takenYesterday.getId(), book.getId(), RentalType.OUT_OF_LIBRARY, OrderState.APPROVED, OrderState.BOOK_TAKEN, null, yesterdayNoon));
+        aggregator.onOrderStateChanged(new BookOrderStateChangedEvent(takenToday.getId(), book.getId(), RentalType.OUT_OF_LIBRARY, OrderState.APPROVED, OrderState.BOOK_TAKEN, null, now));
+        //when
+        aggregator.backfill();
+        aggregator.backfill();
+        //then
+        assertThat(circulationRepository.findLoansPerDay(today.minusDays(3), today))
+                .containsExactly(new DayLoans(yesterday, 1L), new DayLoans(today, 1L));
+    }
+
+    private Book newBook() {
+        return new Book(null, "book1", List.of(new Author("author1")), List.of(new Editor(null, "editorRole", "editor1")), new Genre(null, "genre1"), new Publisher(null, "publisher1", "postalCode", "address"), new PrintingHouse(null, "printingHouse1", "postalCode", "address"), 2003, "Minsk", "description", 20, "3298614390153", "80.7", "33.4", "B1", 1, false);
+    }
+}
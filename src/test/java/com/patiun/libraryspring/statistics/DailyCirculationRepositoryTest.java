@@ -0,0 +1,59 @@
+package com.patiun.libraryspring.statistics;
+
+import com.patiun.libraryspring.book.*;
+import com.patiun.libraryspring.order.RentalType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class DailyCirculationRepositoryTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 3, 1);
+
+    private final TestEntityManager entityManager;
+
+    private final DailyCirculationRepository circulationRepository;
+
+    @Autowired
+    public DailyCirculationRepositoryTest(TestEntityManager entityManager, DailyCirculationRepository circulationRepository) {
+        this.entityManager = entityManager;
+        this.circulationRepository = circulationRepository;
+    }
+
+    @Test
+    public void testFindQueriesShouldAggregateTheLoansWithinTheRange() {
+        //given
+        Book firstBook = entityManager.persist(newBook("book1", "3298614390153", "genre1"));
+        Book secondBook = entityManager.persist(newBook("book2", "3298614390154", "genre2"));
+        entityManager.persist(new DailyCirculation(null, FIRST_DAY, firstBook, RentalType.OUT_OF_LIBRARY, 3));
+        entityManager.persist(new DailyCirculation(null, FIRST_DAY, secondBook, RentalType.TO_READING_HALL, 1));
+        entityManager.persist(new DailyCirculation(null, FIRST_DAY.plusDays(1), secondBook, RentalType.OUT_OF_LIBRARY, 4));
+        entityManager.persist(new DailyCirculation(null, FIRST_DAY.plusDays(5), firstBook, RentalType.OUT_OF_LIBRARY, 10));
+        entityManager.flush();
+
+        LocalDate to = FIRST_DAY.plusDays(1);
+        //when
+        List<DayLoans> loansPerDay = circulationRepository.findLoansPerDay(FIRST_DAY, to);
+        List<RentalTypeLoans> loansPerRentalType = circulationRepository.findLoansPerRentalType(FIRST_DAY, to);
+        List<TitleLoans> topTitles = circulationRepository.findTopTitles(FIRST_DAY, to, PageRequest.ofSize(1));
+        //then
+        assertThat(loansPerDay)
+                .containsExactly(new DayLoans(FIRST_DAY, 4L), new DayLoans(to, 4L));
+        assertThat(loansPerRentalType)
+                .containsExactly(new RentalTypeLoans(RentalType.OUT_OF_LIBRARY, 7L), new RentalTypeLoans(RentalType.TO_READING_HALL, 1L));
+        assertThat(topTitles)
+                .containsExactly(new TitleLoans(secondBook.getId(), "book2", 5L));
+    }
+
+    private Book newBook(String title, String isbn, String genre) {
+        return new Book(null, title, List.of(new Author("author" + title)), List.of(new Editor(null, "editorRole", "editor" + title)), new Genre(null, genre), new Publisher(null, "publisher" + title, "postalCode", "address"), new PrintingHouse(null, "printingHouse" + title, "postalCode", "address"), 2003, "Minsk", "description", 20, isbn, "80.7", "33.4", "B1", 1, false);
+    }
+}
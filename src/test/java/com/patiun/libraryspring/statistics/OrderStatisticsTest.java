@@ -0,0 +1,172 @@
+package com.patiun.libraryspring.statistics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.patiun.libraryspring.order.BookOrderEvent;
+import com.patiun.libraryspring.order.BookOrderEventRepository;
+import com.patiun.libraryspring.order.OrderState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatisticsTest {
+
+    private static final int REPLAY_CHUNK_SIZE = 2;
+
+    private static final int REPLAY_WINDOW = 2;
+
+    private static final LocalDateTime PLACED_AT = LocalDateTime.of(2023, 3, 22, 10, 0);
+
+    @Mock
+    private BookOrderEventRepository eventRepository;
+
+    @Mock
+    private OrderStatisticsCheckpointRepository checkpointRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OrderStatistics orderStatistics;
+
+    @BeforeEach
+    public void setUp() {
+        orderStatistics = new OrderStatistics(eventRepository, checkpointRepository, objectMapper, REPLAY_CHUNK_SIZE, REPLAY_WINDOW);
+    }
+
+    @Test
+    public void testAfterSingletonsInstantiatedShouldReplayTheWholeLogInChunks() {
+        //given
+        given(eventRepository.findByIdGreaterThanOrderById(0L, PageRequest.ofSize(REPLAY_CHUNK_SIZE)))
+                .willReturn(List.of(
+                        new BookOrderEvent(1L, 1, 1, null, OrderState.PLACED, 5, PLACED_AT),
+                        new BookOrderEvent(2L, 2, 1, null, OrderState.PLACED, 6, PLACED_AT)
+                ));
+        given(eventRepository.findByIdGreaterThanOrderById(2L, PageRequest.ofSize(REPLAY_CHUNK_SIZE)))
+                .willReturn(List.of(new BookOrderEvent(3L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3))));
+        //when
+        orderStatistics.afterSingletonsInstantiated();
+        //then
+        assertThat(orderStatistics.getTimeInStateHistograms())
+                .singleElement()
+                .satisfies(histogram -> {
+                    assertThat(histogram.state())
+                            .isEqualTo(OrderState.PLACED);
+                    assertThat(histogram.count())
+                            .isEqualTo(1);
+                    assertThat(histogram.meanTime())
+                            .isEqualTo(Duration.ofHours(3));
+                    assertThat(histogram.buckets().get(1).count())
+                            .isEqualTo(1);
+                });
+    }
+
+    @Test
+    public void testOnOrderEventShouldCountTheTransitionsMadeByEachLibrarian() {
+        //when
+        orderStatistics.onOrderEvent(new BookOrderEvent(1L, 1, 1, null, OrderState.PLACED, 5, PLACED_AT));
+        orderStatistics.onOrderEvent(new BookOrderEvent(2L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusDays(1)));
+        orderStatistics.onOrderEvent(new BookOrderEvent(3L, 1, 1, OrderState.APPROVED, OrderState.BOOK_TAKEN, 9, PLACED_AT.plusDays(2)));
+        orderStatistics.onOrderEvent(new BookOrderEvent(4L, 2, 1, OrderState.PLACED, OrderState.DECLINED, 10, PLACED_AT.plusDays(2)));
+        //then
+        assertThat(orderStatistics.getLibrarianThroughput())
+                .containsExactly(
+                        new LibrarianThroughput(9, Map.of(OrderState.APPROVED, 1L, OrderState.BOOK_TAKEN, 1L), 2),
+                        new LibrarianThroughput(10, Map.of(OrderState.DECLINED, 1L), 1)
+                );
+    }
+
+    @Test
+    public void testAfterSingletonsInstantiatedShouldReplayOnlyTheWindowBelowTheCheckpointAndSkipTheAppliedEvents() {
+        //given
+        OrderStatistics checkpointedStatistics = new OrderStatistics(eventRepository, checkpointRepository, objectMapper, REPLAY_CHUNK_SIZE, REPLAY_WINDOW);
+        checkpointedStatistics.onOrderEvent(new BookOrderEvent(10L, 1, 1, null, OrderState.PLACED, 5, PLACED_AT));
+        checkpointedStatistics.onOrderEvent(new BookOrderEvent(11L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3)));
+        checkpointedStatistics.checkpoint();
+        ArgumentCaptor<OrderStatisticsCheckpoint> checkpointCaptor = ArgumentCaptor.forClass(OrderStatisticsCheckpoint.class);
+        then(checkpointRepository)
+                .should(times(1))
+                .save(checkpointCaptor.capture());
+        OrderStatisticsCheckpoint checkpoint = checkpointCaptor.getValue();
+
+        given(checkpointRepository.findById(checkpoint.getId()))
+                .willReturn(Optional.of(checkpoint));
+        given(eventRepository.findByIdGreaterThanOrderById(9L, PageRequest.ofSize(REPLAY_CHUNK_SIZE)))
+                .willReturn(List.of(
+                        new BookOrderEvent(10L, 1, 1, null, OrderState.PLACED, 5, PLACED_AT),
+                        new BookOrderEvent(11L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3))
+                ));
+        given(eventRepository.findByIdGreaterThanOrderById(11L, PageRequest.ofSize(REPLAY_CHUNK_SIZE)))
+                .willReturn(List.of(new BookOrderEvent(12L, 1, 1, OrderState.APPROVED, OrderState.BOOK_TAKEN, 9, PLACED_AT.plusHours(5))));
+        //when
+        orderStatistics.afterSingletonsInstantiated();
+        //then
+        then(eventRepository)
+                .should(never())
+                .findByIdGreaterThanOrderById(0L, PageRequest.ofSize(REPLAY_CHUNK_SIZE));
+        assertThat(orderStatistics.getTimeInStateHistograms())
+                .extracting(TimeInStateHistogram::state, TimeInStateHistogram::meanTime)
+                .containsExactlyInAnyOrder(
+                        tuple(OrderState.PLACED, Duration.ofHours(3)),
+                        tuple(OrderState.APPROVED, Duration.ofHours(2))
+                );
+        assertThat(orderStatistics.getLibrarianThroughput())
+                .containsExactly(new LibrarianThroughput(9, Map.of(OrderState.APPROVED, 1L, OrderState.BOOK_TAKEN, 1L), 2));
+    }
+
+    @Test
+    public void testCheckpointShouldApplyTheEventsCommittedBelowTheLastAppliedIdOnce() {
+        //given
+        orderStatistics.onOrderEvent(new BookOrderEvent(12L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3)));
+        given(eventRepository.findByIdGreaterThanOrderById(10L, PageRequest.ofSize(REPLAY_CHUNK_SIZE)))
+                .willReturn(List.of(
+                        new BookOrderEvent(11L, 2, 1, OrderState.PLACED, OrderState.DECLINED, 10, PLACED_AT.plusHours(1)),
+                        new BookOrderEvent(12L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3))
+                ));
+        //when
+        orderStatistics.checkpoint();
+        //then
+        assertThat(orderStatistics.getLibrarianThroughput())
+                .containsExactlyInAnyOrder(
+                        new LibrarianThroughput(9, Map.of(OrderState.APPROVED, 1L), 1),
+                        new LibrarianThroughput(10, Map.of(OrderState.DECLINED, 1L), 1)
+                );
+    }
+
+    @Test
+    public void testCheckpointShouldSaveWhenAnEventBelowTheLastCheckpointedIdWasApplied() throws Exception {
+        //given
+        orderStatistics.onOrderEvent(new BookOrderEvent(12L, 1, 1, OrderState.PLACED, OrderState.APPROVED, 9, PLACED_AT.plusHours(3)));
+        orderStatistics.checkpoint();
+        orderStatistics.onOrderEvent(new BookOrderEvent(11L, 2, 1, OrderState.PLACED, OrderState.DECLINED, 10, PLACED_AT.plusHours(1)));
+        //when
+        orderStatistics.checkpoint();
+        orderStatistics.checkpoint();
+        //then
+        ArgumentCaptor<OrderStatisticsCheckpoint> checkpointCaptor = ArgumentCaptor.forClass(OrderStatisticsCheckpoint.class);
+        then(checkpointRepository)
+                .should(times(2))
+                .save(checkpointCaptor.capture());
+        OrderStatisticsCheckpoint checkpoint = checkpointCaptor.getValue();
+        assertThat(checkpoint.getLastEventId())
+                .isEqualTo(12L);
+        assertThat(objectMapper.readValue(checkpoint.getProjection(), OrderStatisticsProjection.class).recentEventIds())
+                .containsExactly(11L, 12L);
+    }
+}
@@ -0,0 +1,47 @@
+package com.patiun.libraryspring.user;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntIntHashMapTest {
+
+    private static final int DEFAULT_VALUE = -1;
+
+    @Test
+    public void testGetShouldReturnEveryPutValueWhenTheMapHasGrownPastItsInitialCapacity() {
+        //given
+        IntIntHashMap map = new IntIntHashMap(4);
+        //when
+        for (int key = -500; key <= 500; key++) {
+            map.put(key, key * 2);
+        }
+        //then
+        assertThat(map.size())
+                .isEqualTo(1001);
+        for (int key = -500; key <= 500; key++) {
+            assertThat(map.get(key, DEFAULT_VALUE))
+                    .isEqualTo(key * 2);
+        }
+        assertThat(map.get(501, DEFAULT_VALUE))
+                .isEqualTo(DEFAULT_VALUE);
+    }
+
+    @Test
+    public void testCopyShouldNotSeeValuesPutIntoTheOriginalMapAfterCopying() {
+        //given
+        IntIntHashMap map = new IntIntHashMap(4);
+        map.put(7, 1);
+        IntIntHashMap copy = map.copy();
+        //when
+        map.put(7, 2);
+        map.put(8, 3);
+        //then
+        assertThat(copy.get(7, DEFAULT_VALUE))
+                .isEqualTo(1);
+        assertThat(copy.get(8, DEFAULT_VALUE))
+                .isEqualTo(DEFAULT_VALUE);
+        assertThat(map.get(7, DEFAULT_VALUE))
+                .isEqualTo(2);
+    }
+}
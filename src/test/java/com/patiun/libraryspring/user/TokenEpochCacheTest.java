@@ -0,0 +1,113 @@
+package com.patiun.libraryspring.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenEpochCacheTest {
+
+    private static final Integer USER_ID = 12;
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(10);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenEpochCache tokenEpochCache;
+
+    @BeforeEach
+    public void createCache() {
+        tokenEpochCache = new TokenEpochCache(userRepository, REFRESH_OVERLAP, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testIsCurrentShouldAcceptTokensOfTheLoadedEpochWithoutQueryingTheUser() {
+        //given
+        given(userRepository.findRevokedTokenEpochs())
+                .willReturn(List.of(new UserTokenEpoch(USER_ID, 3, LocalDateTime.now())));
+        tokenEpochCache.afterSingletonsInstantiated();
+        //when
+        boolean currentTokenResult = tokenEpochCache.isCurrent(USER_ID, 3);
+        boolean revokedTokenResult = tokenEpochCache.isCurrent(USER_ID, 2);
+        boolean untouchedUserResult = tokenEpochCache.isCurrent(USER_ID + 1, 0);
+        //then
+        assertThat(currentTokenResult)
+                .isTrue();
+        assertThat(revokedTokenResult)
+                .isFalse();
+        assertThat(untouchedUserResult)
+                .isTrue();
+        then(userRepository)
+                .should(never())
+                .findTokenEpochById(any());
+    }
+
+    @Test
+    public void testRefreshShouldOnlyLoadEpochsChangedSinceTheLastRefreshWithOverlap() {
+        //given
+        LocalDateTime revokedAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        given(userRepository.findRevokedTokenEpochs())
+                .willReturn(List.of(new UserTokenEpoch(USER_ID, 1, revokedAt)));
+        tokenEpochCache.afterSingletonsInstantiated();
+        LocalDateTime lastSeenChange = LocalDateTime.now();
+        given(userRepository.findTokenEpochsChangedAfter(any()))
+                .willReturn(List.of(new UserTokenEpoch(USER_ID, 2, lastSeenChange.plusHours(1))));
+        //when
+        tokenEpochCache.refresh();
+        //then
+        then(userRepository)
+                .should(times(1))
+                .findTokenEpochsChangedAfter(any());
+        assertThat(tokenEpochCache.isCurrent(USER_ID, 1))
+                .isFalse();
+        assertThat(tokenEpochCache.isCurrent(USER_ID, 2))
+                .isTrue();
+    }
+
+    @Test
+    public void testIsCurrentShouldRejectTokensOfAnOlderEpochWhenTheUserTokensWereRevoked() {
+        //given
+        tokenEpochCache.onUserTokensRevoked(new UserTokensRevokedEvent(USER_ID, 4));
+        //when
+        boolean revokedTokenResult = tokenEpochCache.isCurrent(USER_ID, 3);
+        boolean currentTokenResult = tokenEpochCache.isCurrent(USER_ID, 4);
+        //then
+        assertThat(revokedTokenResult)
+                .isFalse();
+        assertThat(currentTokenResult)
+                .isTrue();
+    }
+
+    @Test
+    public void testIsCurrentShouldQueryTheUserOnceWhenTheTokenIsNewerThanTheKnownEpoch() {
+        //given
+        given(userRepository.findTokenEpochById(USER_ID))
+                .willReturn(Optional.of(5));
+        //when
+        boolean firstResult = tokenEpochCache.isCurrent(USER_ID, 5);
+        boolean secondResult = tokenEpochCache.isCurrent(USER_ID, 5);
+        //then
+        assertThat(firstResult)
+                .isTrue();
+        assertThat(secondResult)
+                .isTrue();
+        then(userRepository)
+                .should(times(1))
+                .findTokenEpochById(USER_ID);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +31,9 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -260,6 +264,25 @@ public class UserServiceImplTest {
                 .save(expectedUserToBeSaved);
     }
 
+    @Test
+    public void testSwitchUserBlockedShouldRevokeIssuedTokensOfTheUser() {
+        //given
+        Integer targetUserId = 436;
+
+        User userReturnedByRepository = new User(targetUserId, "login", "d8f6g56sdf", "john", "doe", false, true, UserRole.READER);
+        userReturnedByRepository.setTokenEpoch(4);
+        given(userRepository.findById(targetUserId))
+                .willReturn(Optional.of(userReturnedByRepository));
+        //when
+        userService.switchUserBlockedById(targetUserId);
+        //then
+        assertThat(userReturnedByRepository.getTokenEpoch())
+                .isEqualTo(5);
+        then(eventPublisher)
+                .should(times(1))
+                .publishEvent(new UserTokensRevokedEvent(targetUserId, 5));
+    }
+
     @Test
     public void testSwitchUserBlockedShouldSaveUnblockedUserWhenUserIsBlocked() {
         //given